@@ -0,0 +1,455 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * IntArrayDeque class implements a list of int values in a circular array.
+ * It offers the same operations as MyLinkedList<Integer>, but stores each
+ * value in a single array slot, with no Node and no boxed Integer, and
+ * its iterator hands out primitives without boxing.
+ * Adding or removing at either end takes constant time; at position
+ * idx it takes time proportional to min( idx, size( ) - idx ).
+ */
+public class IntArrayDeque implements Iterable<Integer>
+{
+    /**
+     * Construct an empty IntArrayDeque.
+     */
+    public IntArrayDeque( )
+    {
+        this( DEFAULT_CAPACITY );
+    }
+
+    /**
+     * Construct an empty IntArrayDeque.
+     * @param capacity the number of values to make room for.
+     */
+    public IntArrayDeque( int capacity )
+    {
+        int cap = DEFAULT_CAPACITY;
+        while( cap < capacity )
+            cap <<= 1;
+        elements = new int[ cap ];
+        doClear( );
+    }
+
+    /**
+     * Change the size of this collection to zero.
+     */
+    public void doClear( )
+    {
+        head = 0;
+        theSize = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the number of items in this collection.
+     * @return the number of items in this collection.
+     */
+    public int size( )
+    {
+        return theSize;
+    }
+
+    public boolean isEmpty( )
+    {
+        return size( ) == 0;
+    }
+
+    /**
+     * Adds an item to this collection, at the end.
+     * @param x any value.
+     * @return true.
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    public boolean add( int x )
+    {
+        ensureCapacity( theSize + 1 );
+        elements[ slot( theSize++ ) ] = x;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Adds an item to this collection, at specified position.
+     * Items at or after that position are slid one position higher.
+     * @param x any value.
+     * @param idx position to add at.
+     * @throws IndexOutOfBoundsException if idx is not between 0 and size(), inclusive.
+     */
+    public void add( int idx, int x )
+    {
+        checkBounds( idx, 0, size( ) );
+        openGap( idx, 1 );
+        elements[ slot( idx ) ] = x;
+    }
+
+    /**
+     * Returns the item at position idx.
+     * @param idx the index to search in.
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    public int get( int idx )
+    {
+        checkBounds( idx, 0, size( ) - 1 );
+        return elements[ slot( idx ) ];
+    }
+
+    /**
+     * Changes the item at position idx.
+     * @param idx the index to change.
+     * @param newVal the new value.
+     * @return the old value.
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    public int set( int idx, int newVal )
+    {
+        checkBounds( idx, 0, size( ) - 1 );
+        int s = slot( idx );
+        int oldVal = elements[ s ];
+
+        elements[ s ] = newVal;
+        return oldVal;
+    }
+
+    /**
+     * Removes an item from this collection.
+     * @param idx the index of the value.
+     * @return the item was removed from the collection.
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    public int remove( int idx )
+    {
+        checkBounds( idx, 0, size( ) - 1 );
+        int removed = elements[ slot( idx ) ];
+        closeGap( idx, 1 );
+        return removed;
+    }
+
+    /**
+     * Receives two index positions as parameters and swaps the two values
+     * at these positions, provided both positions are within the current size
+     * @param idx1 the index of the first value to swap.
+     * @param idx2 the index of the second value to swap.
+     */
+    public void swap( int idx1, int idx2 )
+    {
+        checkBounds( idx1, 0, size( ) - 1 );
+        checkBounds( idx2, 0, size( ) - 1 );
+
+        int a = slot( idx1 );
+        int b = slot( idx2 );
+        int c = elements[ a ];
+        elements[ a ] = elements[ b ];
+        elements[ b ] = c;
+    }
+
+    /**
+     * Returns a new IntArrayDeque that has the elements in reverse order.
+     * @return a reversed version of this list
+     */
+    public IntArrayDeque reverse( )
+    {
+        IntArrayDeque r = new IntArrayDeque( theSize );
+        for( int i = theSize - 1; i >= 0; i-- )
+            r.elements[ r.theSize++ ] = elements[ slot( i ) ];
+
+        return r;
+    }
+
+    /**
+     * receives an index position and number of elements as parameters, and
+     * removes elements beginning at the index position for the number of
+     * elements specified, provided the index position is within the size
+     * and together with the number of elements does not exceed the size
+     * @param idx the index of the first value to be erased.
+     * @param num the number of values to erase
+     */
+    public void erase( int idx, int num )
+    {
+        checkBounds( idx, 0, size( ) - 1 );
+        checkBounds( idx + num - 1, 0, size( ) - 1 );
+
+        if( num > 0 )
+            closeGap( idx, num );
+    }
+
+    /**
+     * receives a List and an index position as parameters, and copies all of the
+     * passed list into the existing list at the position specified by the parameter,
+     * provided the index position does not exceed the size
+     * @param idx the index where the new list should be inserted.
+     * @param l the new list to be inserted.
+     */
+    public void insertList( int idx, IntArrayDeque l )
+    {
+        checkBounds( idx, 0, size( ) - 1 );
+        int num = l.theSize;
+        if( num == 0 )
+            return;
+
+        int [ ] src = ( l == this ) ? toArray( ) : null;
+        openGap( idx, num );
+        for( int i = 0; i < num; i++ )
+            elements[ slot( idx + i ) ] = ( src != null ) ? src[ i ] : l.elements[ l.slot( i ) ];
+    }
+
+    /**
+     * receives an integer and shifts the list this many values forward or backward,
+     * for example, if passed -2, the first two values move to the tail, or if
+     * passed 3, the last three values move to the front.
+     *
+     * e.g. -2:  abcde -> cdeab       +3:  abcde ->  cdeab
+     *
+     * Only min( k, size( ) - k ) values are moved, one array slot each.
+     *
+     * @param spaces the number of spaces by which to shift this list
+     */
+    public void shift( int spaces )
+    {
+        int n = size( );
+        if( n == 0 )
+            return;
+
+        int k = spaces % n;
+        if( k < 0 )
+            k += n;
+
+        if( k <= n / 2 )
+            for( ; k > 0; k-- )
+            {
+                head = ( head - 1 ) & ( elements.length - 1 );
+                elements[ head ] = elements[ slot( n ) ];
+            }
+        else
+            for( k = n - k; k > 0; k-- )
+            {
+                elements[ slot( n ) ] = elements[ head ];
+                head = ( head + 1 ) & ( elements.length - 1 );
+            }
+        modCount++;
+    }
+
+    /**
+     * Returns the values of this collection, in order, in a new array.
+     * @return an array holding every value.
+     */
+    public int [ ] toArray( )
+    {
+        int [ ] a = new int[ theSize ];
+        for( int i = 0; i < theSize; i++ )
+            a[ i ] = elements[ slot( i ) ];
+        return a;
+    }
+
+    /**
+     * Performs the given action on every value, in order, without boxing.
+     * @param action the action to perform.
+     */
+    public void forEachInt( IntConsumer action )
+    {
+        int expectedModCount = modCount;
+        for( int i = 0; i < theSize; i++ )
+            action.accept( elements[ slot( i ) ] );
+        if( modCount != expectedModCount )
+            throw new java.util.ConcurrentModificationException( );
+    }
+
+    /**
+     * Returns a String representation of this collection.
+     */
+    public String toString( )
+    {
+        StringBuilder sb = new StringBuilder( "[ " );
+
+        for( int i = 0; i < theSize; i++ )
+            sb.append( elements[ slot( i ) ] ).append(" ");
+        sb.append( "]" );
+
+        return new String( sb );
+    }
+
+    /**
+     * Obtains a primitive Iterator object used to traverse the collection.
+     * Use nextInt( ) to read values without boxing them.
+     * @return an iterator positioned prior to the first element.
+     */
+    public PrimitiveIterator.OfInt iterator( )
+    {
+        return new IntArrayDequeIterator( );
+    }
+
+    /**
+     * This is the implementation of the IntArrayDequeIterator.
+     * It maintains a notion of a current position and of
+     * course the implicit reference to the IntArrayDeque.
+     */
+    private class IntArrayDequeIterator implements PrimitiveIterator.OfInt
+    {
+        private int current = 0;
+        private int expectedModCount = modCount;
+        private boolean okToRemove = false;
+
+        public boolean hasNext( )
+        {
+            return current < theSize;
+        }
+
+        public int nextInt( )
+        {
+            if( modCount != expectedModCount )
+                throw new java.util.ConcurrentModificationException( );
+            if( !hasNext( ) )
+                throw new NoSuchElementException( );
+
+            okToRemove = true;
+            return elements[ slot( current++ ) ];
+        }
+
+        public void remove( )
+        {
+            if( modCount != expectedModCount )
+                throw new java.util.ConcurrentModificationException( );
+            if( !okToRemove )
+                throw new IllegalStateException( );
+
+            IntArrayDeque.this.closeGap( --current, 1 );
+            expectedModCount++;
+            okToRemove = false;
+        }
+    }
+
+    /**
+     * Checks whether the specified index is within the limits of the list
+     * @param idx index to search at.
+     * @param lower lowest valid index.
+     * @param upper highest valid index.
+     */
+    private void checkBounds( int idx, int lower, int upper )
+    {
+        if( idx < lower || idx > upper )
+            throw new IndexOutOfBoundsException( "index: " + idx + "; size: " + size( ) + ". Called by " + Thread.currentThread().getStackTrace()[2].getMethodName());
+    }
+
+    /**
+     * Maps a position in the list to its slot in the circular array.
+     * @param idx the position, from 0 to size( ).
+     * @return the array slot.
+     */
+    private int slot( int idx )
+    {
+        return ( head + idx ) & ( elements.length - 1 );
+    }
+
+    /**
+     * Internal method to make room for at least minCapacity values,
+     * doubling the array and unwrapping it so that head is 0.
+     */
+    private void ensureCapacity( int minCapacity )
+    {
+        if( minCapacity <= elements.length )
+            return;
+
+        int cap = elements.length;
+        while( cap < minCapacity )
+            cap <<= 1;
+
+        int [ ] old = elements;
+        elements = new int[ cap ];
+        int firstPart = Math.min( theSize, old.length - head );
+        System.arraycopy( old, head, elements, 0, firstPart );
+        System.arraycopy( old, 0, elements, firstPart, theSize - firstPart );
+        head = 0;
+    }
+
+    /**
+     * Internal method to open num empty slots at position idx,
+     * sliding whichever side of idx is shorter.
+     */
+    private void openGap( int idx, int num )
+    {
+        ensureCapacity( theSize + num );
+        int mask = elements.length - 1;
+
+        if( idx < theSize / 2 )
+        {
+            head = ( head - num ) & mask;
+            for( int i = 0; i < idx; i++ )
+                elements[ slot( i ) ] = elements[ slot( i + num ) ];
+        }
+        else
+        {
+            for( int i = theSize - 1; i >= idx; i-- )
+                elements[ slot( i + num ) ] = elements[ slot( i ) ];
+        }
+        theSize += num;
+        modCount++;
+    }
+
+    /**
+     * Internal method to remove the num values starting at position idx,
+     * sliding whichever side of the gap is shorter.
+     */
+    private void closeGap( int idx, int num )
+    {
+        int mask = elements.length - 1;
+
+        if( idx < ( theSize - num ) / 2 )
+        {
+            for( int i = idx - 1; i >= 0; i-- )
+                elements[ slot( i + num ) ] = elements[ slot( i ) ];
+            head = ( head + num ) & mask;
+        }
+        else
+        {
+            for( int i = idx + num; i < theSize; i++ )
+                elements[ slot( i - num ) ] = elements[ slot( i ) ];
+        }
+        theSize -= num;
+        modCount++;
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int [ ] elements;   // Circular array; length is a power of two
+    private int head;          // Slot of the first value
+    private int theSize;
+    private int modCount = 0;
+}
+
+class TestIntArrayDeque
+{
+    public static void main( String [ ] args )
+    {
+        IntArrayDeque lst = new IntArrayDeque( );
+
+        for( int i = 0; i < 10; i++ )
+            lst.add( i );
+        for( int i = 20; i < 30; i++ )
+            lst.add( 0, i );
+
+        System.out.println("Here's the initial list:");
+        System.out.println( lst );
+
+        System.out.println("Here's the reversed list:");
+        System.out.println( lst.reverse( ) );
+
+        lst.swap(3, 5);
+        System.out.println("Here's the list with elements 3 and 5 swapped:");
+        System.out.println( lst );
+
+        lst.erase(6, 3);
+        System.out.println("Here's the list with elements 6-8 removed:");
+        System.out.println( lst );
+
+        lst.shift(-4);
+        System.out.println("Here's the list shifted 4 spaces left:");
+        System.out.println( lst );
+
+        int sum = 0;
+        for( PrimitiveIterator.OfInt itr = lst.iterator( ); itr.hasNext( ); )
+            sum += itr.nextInt( );
+        System.out.println("Sum of the list: " + sum);
+    }
+}
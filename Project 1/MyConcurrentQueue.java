@@ -0,0 +1,354 @@
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * MyConcurrentQueue class implements an unbounded, thread-safe FIFO queue
+ * using the non-blocking algorithm of Michael and Scott.
+ * Like MyLinkedList it keeps a sentinel node in front of the first item,
+ * so producers (at the tail) and consumers (at the head) never touch the
+ * same reference and never take a lock; each operation is a short
+ * compare-and-set loop.
+ */
+public class MyConcurrentQueue<AnyType> implements Iterable<AnyType>
+{
+    /**
+     * Construct an empty queue.
+     */
+    public MyConcurrentQueue( )
+    {
+        head = tail = new Node<>( null );
+    }
+
+    /**
+     * Adds an item to the tail of this queue. Never blocks.
+     * @param x any non-null object.
+     * @return true.
+     * @throws IllegalArgumentException if x is null.
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    public boolean offer( AnyType x )
+    {
+        if( x == null )
+            throw new IllegalArgumentException( "Item is null!" );
+
+        Node<AnyType> newNode = new Node<>( x );
+        for( ; ; )
+        {
+            Node<AnyType> t = tail;
+            Node<AnyType> n = t.next;
+            if( t != tail )
+                continue;
+
+            if( n == null )
+            {
+                if( t.casNext( null, newNode ) )
+                {
+                    casTail( t, newNode );    // Failure means another thread helped
+                    return true;
+                }
+            }
+            else
+                casTail( t, n );              // Tail is lagging; help it along
+        }
+    }
+
+    /**
+     * Adds an item to the tail of this queue; the same as offer.
+     * @param x any non-null object.
+     * @return true.
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    public boolean add( AnyType x )
+    {
+        return offer( x );
+    }
+
+    /**
+     * Removes the item at the head of this queue. Never blocks.
+     * @return the removed item, or null if the queue is empty.
+     */
+    public AnyType poll( )
+    {
+        for( ; ; )
+        {
+            Node<AnyType> h = head;
+            Node<AnyType> t = tail;
+            Node<AnyType> first = h.next;
+            if( h != head )
+                continue;
+
+            if( h == t )
+            {
+                if( first == null )
+                    return null;
+                casTail( t, first );          // Tail is lagging; help it along
+            }
+            else
+            {
+                AnyType item = first.item;
+                if( casHead( h, first ) )
+                {
+                    first.item = null;        // first is the new sentinel
+                    h.lazySetNext( h );       // Unlink the old sentinel for the GC
+                    return item;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the item at the head of this queue without removing it.
+     * @return the first item, or null if the queue is empty.
+     */
+    public AnyType peek( )
+    {
+        for( Node<AnyType> p = first( ); p != null; p = succ( p ) )
+        {
+            AnyType item = p.item;
+            if( item != null )
+                return item;
+        }
+        return null;
+    }
+
+    /**
+     * Test if the queue is logically empty.
+     * @return true if empty, false otherwise.
+     */
+    public boolean isEmpty( )
+    {
+        return peek( ) == null;
+    }
+
+    /**
+     * Returns the number of items in this queue. This walks the whole
+     * queue, and if other threads are changing it the result is only
+     * an estimate.
+     * @return the number of items in this queue.
+     */
+    public int size( )
+    {
+        int count = 0;
+        for( Node<AnyType> p = first( ); p != null; p = succ( p ) )
+            if( p.item != null && ++count == Integer.MAX_VALUE )
+                break;
+        return count;
+    }
+
+    /**
+     * Returns a String representation of this collection.
+     */
+    public String toString( )
+    {
+        StringBuilder sb = new StringBuilder( "[ " );
+
+        for( AnyType x : this )
+            sb.append(x).append(" ");
+        sb.append( "]" );
+
+        return new String( sb );
+    }
+
+    /**
+     * Obtains an Iterator object used to traverse the queue from head to tail.
+     * The iterator is weakly consistent: it never throws
+     * ConcurrentModificationException, returns each item at most once, and
+     * may or may not show items added or removed after it was created.
+     * @return an iterator positioned prior to the first element.
+     */
+    public java.util.Iterator<AnyType> iterator( )
+    {
+        return new QueueIterator( );
+    }
+
+    /**
+     * This is the implementation of the QueueIterator.
+     * It always holds the next item to return, so hasNext
+     * stays true even if a consumer polls that item meanwhile.
+     */
+    private class QueueIterator implements java.util.Iterator<AnyType>
+    {
+        private Node<AnyType> nextNode;
+        private AnyType nextItem;
+
+        QueueIterator( )
+        {
+            advance( first( ) );
+        }
+
+        /**
+         * Moves to the first node at or after p that still holds an item.
+         */
+        private void advance( Node<AnyType> p )
+        {
+            for( ; p != null; p = succ( p ) )
+            {
+                AnyType item = p.item;
+                if( item != null )
+                {
+                    nextNode = p;
+                    nextItem = item;
+                    return;
+                }
+            }
+            nextNode = null;
+            nextItem = null;
+        }
+
+        public boolean hasNext( )
+        {
+            return nextNode != null;
+        }
+
+        public AnyType next( )
+        {
+            if( !hasNext( ) )
+                throw new java.util.NoSuchElementException( );
+
+            AnyType item = nextItem;
+            advance( succ( nextNode ) );
+            return item;
+        }
+
+        public void remove( )
+        {
+            throw new UnsupportedOperationException( );
+        }
+    }
+
+    /**
+     * Returns the first node after the sentinel, or null if there is none.
+     */
+    private Node<AnyType> first( )
+    {
+        return head.next;
+    }
+
+    /**
+     * Returns the successor of p, or the current first node if p has been
+     * unlinked by poll (which leaves the old sentinel pointing to itself).
+     */
+    private Node<AnyType> succ( Node<AnyType> p )
+    {
+        Node<AnyType> n = p.next;
+        return ( p == n ) ? first( ) : n;
+    }
+
+    private boolean casHead( Node<AnyType> expect, Node<AnyType> update )
+    {
+        return HEAD.compareAndSet( this, expect, update );
+    }
+
+    private boolean casTail( Node<AnyType> expect, Node<AnyType> update )
+    {
+        return TAIL.compareAndSet( this, expect, update );
+    }
+
+    /**
+     * This is the singly-linked queue node.
+     */
+    private static class Node<AnyType>
+    {
+        Node( AnyType d )
+        {
+            item = d;
+        }
+
+        boolean casNext( Node<AnyType> expect, Node<AnyType> update )
+        {
+            return NEXT.compareAndSet( this, expect, update );
+        }
+
+        void lazySetNext( Node<AnyType> update )
+        {
+            NEXT.lazySet( this, update );
+        }
+
+        volatile AnyType item;
+        volatile Node<AnyType> next;
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+                AtomicReferenceFieldUpdater.newUpdater( Node.class, Node.class, "next" );
+    }
+
+    private volatile Node<AnyType> head;    // Always a sentinel; its item is null
+    private volatile Node<AnyType> tail;    // Last node, or lagging by one
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MyConcurrentQueue, Node> HEAD =
+            AtomicReferenceFieldUpdater.newUpdater( MyConcurrentQueue.class, Node.class, "head" );
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MyConcurrentQueue, Node> TAIL =
+            AtomicReferenceFieldUpdater.newUpdater( MyConcurrentQueue.class, Node.class, "tail" );
+}
+
+class TestConcurrentQueue
+{
+    public static void main( String [ ] args ) throws InterruptedException
+    {
+        final int producers = 4;
+        final int consumers = 4;
+        final int perProducer = 100000;
+
+        // Producer i offers i * perProducer + 1 .. ( i + 1 ) * perProducer, so every item is distinct
+        MyConcurrentQueue<Integer> q = new MyConcurrentQueue<>( );
+        java.util.concurrent.atomic.AtomicLong sum = new java.util.concurrent.atomic.AtomicLong( );
+        java.util.concurrent.atomic.AtomicInteger taken = new java.util.concurrent.atomic.AtomicInteger( );
+        java.util.concurrent.atomic.AtomicIntegerArray seen = new java.util.concurrent.atomic.AtomicIntegerArray( producers * perProducer + 1 );
+
+        Thread [ ] threads = new Thread[ producers + consumers ];
+        for( int i = 0; i < producers; i++ )
+        {
+            final int first = i * perProducer;
+            threads[ i ] = new Thread( ( ) -> {
+                for( int j = 1; j <= perProducer; j++ )
+                    q.offer( first + j );
+            } );
+        }
+        for( int i = producers; i < threads.length; i++ )
+            threads[ i ] = new Thread( ( ) -> {
+                while( taken.get( ) < producers * perProducer )
+                {
+                    Integer x = q.poll( );
+                    if( x != null )
+                    {
+                        sum.addAndGet( x );
+                        seen.incrementAndGet( x );
+                        taken.incrementAndGet( );
+                    }
+                }
+            } );
+
+        long start = System.nanoTime( );
+        for( Thread t : threads )
+            t.start( );
+        for( Thread t : threads )
+            t.join( );
+        long elapsed = System.nanoTime( ) - start;
+
+        int total = producers * perProducer;
+        long expected = (long) total * ( total + 1 ) / 2;
+        int missing = 0;
+        int duplicated = 0;
+        for( int x = 1; x <= total; x++ )
+            if( seen.get( x ) == 0 )
+                missing++;
+            else if( seen.get( x ) > 1 )
+                duplicated++;
+
+        System.out.println( "Items taken: " + taken.get( ) + ", sum " + sum.get( ) + " (expected " + total + ", sum " + expected + ")" );
+        System.out.println( "Missing items: " + missing + ", duplicated items: " + duplicated );
+        if( taken.get( ) != total || sum.get( ) != expected || missing != 0 || duplicated != 0 || !q.isEmpty( ) )
+            throw new IllegalStateException( "Every item should arrive exactly once!" );
+        System.out.println( "Queue is empty: " + q.isEmpty( ) );
+        System.out.println( "Elapsed ms: " + elapsed / 1000000 );
+
+        for( int i = 0; i < 5; i++ )
+            q.add( i );
+        System.out.println( "Here's a small queue:" );
+        System.out.println( q );
+        q.poll( );
+        System.out.println( "Here's the queue after one poll:" );
+        System.out.println( q );
+    }
+}
@@ -66,7 +66,9 @@ public class MyLinkedList<AnyType> implements Iterable<AnyType>
      */
     public void add( int idx, AnyType x )
     {
-        addBefore( getNode( idx, 0, size( ) ), x );
+        Node<AnyType> p = getNode( idx, 0, size( ) );
+        addBefore( p, x );
+        setFinger( p.prev, idx );
     }
 
     /**
@@ -150,7 +152,17 @@ public class MyLinkedList<AnyType> implements Iterable<AnyType>
 
         checkBounds(idx, lower, upper);
 
-        if( idx < size( ) / 2 )
+        int fromFinger = ( fingerModCount == modCount ) ? Math.abs( idx - fingerIdx ) : Integer.MAX_VALUE;
+
+        if( fromFinger <= idx && fromFinger <= size( ) - idx )
+        {
+            p = fingerNode;
+            for( int i = fingerIdx; i < idx; i++ )
+                p = p.next;
+            for( int i = fingerIdx; i > idx; i-- )
+                p = p.prev;
+        }
+        else if( idx < size( ) / 2 )
         {
             p = beginMarker.next;
             for( int i = 0; i < idx; i++ )
@@ -163,9 +175,24 @@ public class MyLinkedList<AnyType> implements Iterable<AnyType>
                 p = p.prev;
         }
 
+        setFinger( p, idx );
         return p;
     }
 
+    /**
+     * Remembers that Node p is at position idx, so that the next lookup
+     * near idx can start walking from p. The finger is only trusted
+     * while modCount is unchanged.
+     * @param p the node to remember.
+     * @param idx the position of p, which may be size( ) for endMarker.
+     */
+    private void setFinger( Node<AnyType> p, int idx )
+    {
+        fingerNode = p;
+        fingerIdx = idx;
+        fingerModCount = modCount;
+    }
+
     /**
      * Removes an item from this collection.
      * @param idx the index of the object.
@@ -173,7 +200,10 @@ public class MyLinkedList<AnyType> implements Iterable<AnyType>
      */
     public AnyType remove( int idx )
     {
-        return remove( getNode( idx ) );
+        Node<AnyType> p = getNode( idx );
+        AnyType removed = remove( p );
+        setFinger( p.next, idx );
+        return removed;
     }
 
     /**
@@ -214,6 +244,7 @@ public class MyLinkedList<AnyType> implements Iterable<AnyType>
         c = a.next;
         a.next = b.next;
         b.next = c;
+        modCount++;
     }
 
     /**
@@ -231,6 +262,220 @@ public class MyLinkedList<AnyType> implements Iterable<AnyType>
         return r;
     }
 
+    /**
+     * Reverses this list in place by exchanging the prev and next links
+     * of every node, markers included. No nodes are allocated.
+     */
+    public void reverseInPlace( )
+    {
+        Node<AnyType> p = beginMarker;
+        while( p != null )
+        {
+            Node<AnyType> n = p.next;
+            p.next = p.prev;
+            p.prev = n;
+            p = n;
+        }
+
+        Node<AnyType> c = beginMarker;
+        beginMarker = endMarker;
+        endMarker = c;
+        modCount++;
+    }
+
+    /**
+     * Returns a view of this list in reverse order, in constant time.
+     * The view reads the nodes of this list directly and becomes invalid
+     * when this list is structurally modified.
+     * @return a reversed view of this list.
+     */
+    public ListView reversedView( )
+    {
+        return new ListView( endMarker.prev, beginMarker.next, size( ), true );
+    }
+
+    /**
+     * Returns a view of positions from (inclusive) to to (exclusive) of this list.
+     * The view reads the nodes of this list directly and becomes invalid
+     * when this list is structurally modified.
+     * @param from index of the first item in the view.
+     * @param to index one past the last item in the view.
+     * @return a view of the range.
+     * @throws IndexOutOfBoundsException if from or to is out of range, or from > to.
+     */
+    public ListView subListView( int from, int to )
+    {
+        checkBounds( to, 0, size( ) );
+        checkBounds( from, 0, to );
+        if( from == to )
+            return new ListView( endMarker, endMarker, 0, false );
+
+        Node<AnyType> first = getNode( from );
+        Node<AnyType> last = first;
+        for( int i = from + 1; i < to; i++ )
+            last = last.next;
+        return new ListView( first, last, to - from, false );
+    }
+
+    /**
+     * ListView is a window onto a run of consecutive nodes of this list,
+     * read forwards or backwards. Items can be read and replaced through
+     * it, but any structural change to the list makes every existing view
+     * throw ConcurrentModificationException.
+     */
+    public class ListView implements Iterable<AnyType>
+    {
+        private ListView( Node<AnyType> first, Node<AnyType> last, int count, boolean backwards )
+        {
+            this.first = first;
+            this.last = last;
+            this.count = count;
+            this.backwards = backwards;
+            this.expectedModCount = modCount;
+        }
+
+        /**
+         * Returns the number of items in this view.
+         * @return the number of items in this view.
+         */
+        public int size( )
+        {
+            checkModCount( );
+            return count;
+        }
+
+        public boolean isEmpty( )
+        {
+            return size( ) == 0;
+        }
+
+        /**
+         * Returns the item at position idx of this view.
+         * @param idx the index to search in.
+         * @throws IndexOutOfBoundsException if index is out of range.
+         */
+        public AnyType get( int idx )
+        {
+            return getNode( idx ).data;
+        }
+
+        /**
+         * Changes the item at position idx of this view, and so of the list.
+         * @param idx the index to change.
+         * @param newVal the new value.
+         * @return the old value.
+         * @throws IndexOutOfBoundsException if index is out of range.
+         */
+        public AnyType set( int idx, AnyType newVal )
+        {
+            Node<AnyType> p = getNode( idx );
+            AnyType oldVal = p.data;
+
+            p.data = newVal;
+            return oldVal;
+        }
+
+        /**
+         * Returns a view of the same items in the opposite order, in constant time.
+         * @return the reversed view.
+         */
+        public ListView reversed( )
+        {
+            checkModCount( );
+            return new ListView( last, first, count, !backwards );
+        }
+
+        /**
+         * Gets the node at position idx of this view, walking from whichever end is nearer.
+         */
+        private Node<AnyType> getNode( int idx )
+        {
+            checkModCount( );
+            if( idx < 0 || idx >= count )
+                throw new IndexOutOfBoundsException( "index: " + idx + "; size: " + count );
+
+            Node<AnyType> p;
+            if( idx < count / 2 )
+            {
+                p = first;
+                for( int i = 0; i < idx; i++ )
+                    p = step( p, true );
+            }
+            else
+            {
+                p = last;
+                for( int i = count - 1; i > idx; i-- )
+                    p = step( p, false );
+            }
+            return p;
+        }
+
+        /**
+         * Returns the neighbour of p that is next (or previous) in this view's order.
+         */
+        private Node<AnyType> step( Node<AnyType> p, boolean forward )
+        {
+            return ( forward != backwards ) ? p.next : p.prev;
+        }
+
+        private void checkModCount( )
+        {
+            if( modCount != expectedModCount )
+                throw new java.util.ConcurrentModificationException( );
+        }
+
+        /**
+         * Returns a String representation of this view.
+         */
+        public String toString( )
+        {
+            StringBuilder sb = new StringBuilder( "[ " );
+
+            for( AnyType x : this )
+                sb.append(x).append(" ");
+            sb.append( "]" );
+
+            return new String( sb );
+        }
+
+        /**
+         * Obtains a read-only Iterator object used to traverse the view.
+         * @return an iterator positioned prior to the first element of the view.
+         */
+        public java.util.Iterator<AnyType> iterator( )
+        {
+            checkModCount( );
+            return new java.util.Iterator<AnyType>( )
+            {
+                private Node<AnyType> current = first;
+                private int remaining = count;
+
+                public boolean hasNext( )
+                {
+                    return remaining > 0;
+                }
+
+                public AnyType next( )
+                {
+                    checkModCount( );
+                    if( !hasNext( ) )
+                        throw new java.util.NoSuchElementException( );
+
+                    AnyType nextItem = current.data;
+                    if( --remaining > 0 )
+                        current = step( current, true );
+                    return nextItem;
+                }
+            };
+        }
+
+        private final Node<AnyType> first;      // First node in view order
+        private final Node<AnyType> last;       // Last node in view order
+        private final int count;
+        private final boolean backwards;        // True if view order follows prev links
+        private final int expectedModCount;
+    }
+
     /**
      * receives an index position and number of elements as parameters, and
      * removes elements beginning at the index position for the number of
@@ -252,54 +497,431 @@ public class MyLinkedList<AnyType> implements Iterable<AnyType>
 
         Node<AnyType> s = getNode(idx);
 
-        Node<AnyType> e = getNode( idx + num - 1 );
+        Node<AnyType> e = s;
+        for( int i = 1; i < num; i++ )
+            e = e.next;
 
         e.next.prev = s.prev;
         s.prev.next = e.next;
+        theSize -= num;
+        modCount++;
+        setFinger( e.next, idx );
     }
 
     /**
      * receives a List and an index position as parameters, and copies all of the
      * passed list into the existing list at the position specified by the parameter,
-     * provided the index position does not exceed the size
+     * provided the index position does not exceed the size.  The copies are chained
+     * together first and then spliced in with a single positional lookup.
      * @param idx the index where the new list should be inserted.
      * @param l the new list to be inserted.
      */
     public void insertList(int idx, MyLinkedList<AnyType> l)
     {
         checkBounds(idx, 0, size() - 1);
+        if( l.isEmpty( ) )
+            return;
+
+        Node<AnyType> first = new Node<>( null, null, null );
+        Node<AnyType> last = first;
         for(AnyType x : l)
         {
-            this.add(idx++, x);
+            last.next = new Node<>( x, last, null );
+            last = last.next;
         }
+        first = first.next;
+        first.prev = null;
+
+        splice( getNode( idx ), first, last, l.size( ) );
+    }
+
+    /**
+     * receives a List and an index position as parameters, and moves all of the
+     * nodes of the passed list into the existing list at the position specified by
+     * the parameter, provided the index position does not exceed the size.  No nodes
+     * are copied, so after one positional lookup this takes constant time; the passed
+     * list is left empty.
+     * @param idx the index where the new list should be inserted.
+     * @param l the list whose nodes are to be moved.
+     * @throws IllegalArgumentException if l is this list.
+     */
+    public void spliceList(int idx, MyLinkedList<AnyType> l)
+    {
+        if( l == this )
+            throw new IllegalArgumentException( "Cannot splice a list into itself" );
+        checkBounds(idx, 0, size() - 1);
+        if( l.isEmpty( ) )
+            return;
+
+        Node<AnyType> first = l.beginMarker.next;
+        Node<AnyType> last = l.endMarker.prev;
+        int count = l.size( );
+
+        l.beginMarker.next = l.endMarker;
+        l.endMarker.prev = l.beginMarker;
+        l.theSize = 0;
+        l.modCount++;
+
+        splice( getNode( idx ), first, last, count );
+    }
+
+    /**
+     * Links the chain of nodes first..last into this list before Node p.
+     * @param p Node to add before.
+     * @param first the first node of the chain.
+     * @param last the last node of the chain.
+     * @param count the number of nodes in the chain.
+     */
+    private void splice( Node<AnyType> p, Node<AnyType> first, Node<AnyType> last, int count )
+    {
+        first.prev = p.prev;
+        last.next = p;
+        p.prev.next = first;
+        p.prev = last;
+        theSize += count;
+        modCount++;
     }
 
     /**
      * receives an integer and shifts the list this many nodes forward or backward,
-     * for example, if passed 2, the first two nodes move to the tail, or if
-     * passed -3, the last three nodes move to the front.
+     * for example, if passed -2, the first two nodes move to the tail, or if
+     * passed 3, the last three nodes move to the front.
+     *
+     * e.g. -2:  abcde -> cdeab       +3:  abcde ->  cdeab
      *
-     * e.g. +2:  abcde -> cdeab       -3:  abcde ->  cdeab
+     * The ring is cut once, at the node that becomes the new head, so this
+     * takes time proportional to the distance of that node from the nearer end.
      *
      * @param spaces the number of spaces by which to shift this list
      */
 
     public void shift(int spaces)
     {
-        while(spaces < 0)
+        int n = size( );
+        if( n == 0 )
+            return;
+
+        int k = spaces % n;
+        if( k < 0 )
+            k += n;
+        if( k == 0 )
+            return;
+
+        Node<AnyType> oldFirst = beginMarker.next;
+        Node<AnyType> oldLast = endMarker.prev;
+        Node<AnyType> newFirst = getNode( n - k );
+        Node<AnyType> newLast = newFirst.prev;
+
+        oldLast.next = oldFirst;
+        oldFirst.prev = oldLast;
+        beginMarker.next = newFirst;
+        newFirst.prev = beginMarker;
+        newLast.next = endMarker;
+        endMarker.prev = newLast;
+        modCount++;
+    }
+
+    /**
+     * Sorts this list in place with a bottom-up merge sort that only
+     * relinks the existing nodes. The sort is stable, takes O(n log n)
+     * time and allocates nothing. If cmp throws, the list still holds
+     * every item, in some order, and the exception is passed on.
+     * @param cmp the comparator to order by, or null for natural ordering.
+     */
+    public void sort( java.util.Comparator<? super AnyType> cmp )
+    {
+        if( size( ) < 2 )
+            return;
+
+        endMarker.prev.next = null;
+        try
+        {
+            mergeSort( beginMarker, comparator( cmp ) );
+        }
+        finally
+        {
+            relink( size( ) );
+        }
+    }
+
+    /**
+     * Sorts this list in place like sort, but sorts the two halves of
+     * large ranges in parallel on the common fork-join pool before
+     * merging them. If cmp throws, the list still holds every item.
+     * @param cmp the comparator to order by, or null for natural ordering.
+     */
+    public void parallelSort( java.util.Comparator<? super AnyType> cmp )
+    {
+        if( size( ) < 2 )
+            return;
+
+        endMarker.prev.next = null;
+        try
+        {
+            java.util.concurrent.ForkJoinPool.commonPool( ).invoke(
+                    new SortTask<>( beginMarker, size( ), comparator( cmp ) ) );
+        }
+        finally
+        {
+            relink( size( ) );
+        }
+    }
+
+    /**
+     * Merges another sorted list into this sorted list by relinking nodes.
+     * The merge is stable, with items of this list ahead of equal items of
+     * other, and other is left empty. If cmp throws, this list holds the
+     * items of both, in some order.
+     * @param other a list sorted by cmp.
+     * @param cmp the comparator both lists are sorted by, or null for natural ordering.
+     * @throws IllegalArgumentException if other is this list.
+     */
+    public void mergeSorted( MyLinkedList<AnyType> other, java.util.Comparator<? super AnyType> cmp )
+    {
+        if( other == this )
+            throw new IllegalArgumentException( "Cannot merge a list with itself" );
+        if( other.isEmpty( ) )
+            return;
+
+        int count = size( ) + other.size( );
+        Node<AnyType> a = isEmpty( ) ? null : beginMarker.next;
+        Node<AnyType> b = other.beginMarker.next;
+        if( a != null )
+            endMarker.prev.next = null;
+        other.endMarker.prev.next = null;
+
+        other.beginMarker.next = other.endMarker;
+        other.endMarker.prev = other.beginMarker;
+        other.theSize = 0;
+        other.modCount++;
+
+        try
+        {
+            merge( beginMarker, a, b, comparator( cmp ) );
+        }
+        finally
+        {
+            relink( count );
+        }
+    }
+
+    /**
+     * Hooks the null-terminated chain of count nodes after beginMarker back
+     * in front of endMarker, setting every prev link on the way. At most
+     * count nodes are walked, so a damaged chain cannot make this loop.
+     */
+    private void relink( int count )
+    {
+        Node<AnyType> last = beginMarker;
+        int n = 0;
+        for( ; n < count && last.next != null; n++, last = last.next )
+            last.next.prev = last;
+
+        last.next = endMarker;
+        endMarker.prev = last;
+        theSize = n;
+        modCount++;
+    }
+
+    /**
+     * Returns cmp, or natural ordering if cmp is null.
+     */
+    @SuppressWarnings("unchecked")
+    private static <AnyType> java.util.Comparator<? super AnyType> comparator( java.util.Comparator<? super AnyType> cmp )
+    {
+        return cmp != null ? cmp : (java.util.Comparator<? super AnyType>) java.util.Comparator.naturalOrder( );
+    }
+
+    /**
+     * Internal method to sort the null-terminated chain after head in place.
+     * Runs of insize nodes are merged pairwise in repeated passes,
+     * doubling insize each time, so no recursion or extra storage is needed.
+     * If cmp throws, the nodes not yet merged are put back after the merged
+     * ones first, so head still leads a chain of every node.
+     * @param head the node before the first node of the chain.
+     * @param cmp the comparator to order by.
+     */
+    private static <AnyType> void mergeSort( Node<AnyType> head, java.util.Comparator<? super AnyType> cmp )
+    {
+        for( int insize = 1; ; insize *= 2 )
+        {
+            Node<AnyType> p = head.next;
+            Node<AnyType> tail = head;
+            int merges = 0;
+
+            while( p != null )
+            {
+                merges++;
+                Node<AnyType> q = p;
+                int psize = 0;
+                for( int i = 0; i < insize && q != null; i++ )
+                {
+                    psize++;
+                    q = q.next;
+                }
+                int qsize = insize;
+
+                try
+                {
+                    while( psize > 0 || ( qsize > 0 && q != null ) )
+                    {
+                        Node<AnyType> e;
+                        if( psize == 0 )
+                        {
+                            e = q; q = q.next; qsize--;
+                        }
+                        else if( qsize == 0 || q == null || cmp.compare( p.data, q.data ) <= 0 )
+                        {
+                            e = p; p = p.next; psize--;
+                        }
+                        else
+                        {
+                            e = q; q = q.next; qsize--;
+                        }
+
+                        tail.next = e;
+                        e.prev = tail;
+                        tail = e;
+                    }
+                }
+                catch( Throwable x )
+                {
+                    // The rest of p's run, then q onwards, are still linked by next
+                    for( ; psize > 0; psize-- )
+                    {
+                        tail.next = p;
+                        tail = p;
+                        p = p.next;
+                    }
+                    tail.next = q;
+                    throw x;
+                }
+                p = q;
+            }
+            tail.next = null;
+
+            if( merges <= 1 )
+                return;
+        }
+    }
+
+    /**
+     * Internal method to merge two sorted, null-terminated chains into a
+     * chain after head. Ties are taken from a first, so the merge is stable.
+     * If cmp throws, what is left of a and then of b is put after the
+     * merged nodes, so head still leads a chain of every node.
+     */
+    private static <AnyType> void merge( Node<AnyType> head, Node<AnyType> a, Node<AnyType> b, java.util.Comparator<? super AnyType> cmp )
+    {
+        Node<AnyType> tail = head;
+
+        try
         {
-            AnyType x = remove(0);
-            add(x);
-            spaces++;
+            while( a != null || b != null )
+            {
+                Node<AnyType> e;
+                if( b == null || ( a != null && cmp.compare( a.data, b.data ) <= 0 ) )
+                {
+                    e = a; a = a.next;
+                }
+                else
+                {
+                    e = b; b = b.next;
+                }
+
+                tail.next = e;
+                e.prev = tail;
+                tail = e;
+            }
+            tail.next = null;
         }
-        while(spaces > 0)
+        catch( Throwable x )
         {
-            AnyType x = remove(size() - 1);
-            add(0, x);
-            spaces--;
+            append( tail, a, b );
+            throw x;
         }
     }
 
+    /**
+     * Internal method to link the chains a and b, either possibly null,
+     * after tail, in that order.
+     */
+    private static <AnyType> void append( Node<AnyType> tail, Node<AnyType> a, Node<AnyType> b )
+    {
+        tail.next = a;
+        while( tail.next != null )
+            tail = tail.next;
+        tail.next = b;
+    }
+
+    /**
+     * Fork-join task that sorts the null-terminated chain of count nodes
+     * after head by sorting its halves in parallel and merging them.
+     * If a comparison throws, both halves are joined back up after head
+     * before the exception is passed on.
+     */
+    private static class SortTask<AnyType> extends java.util.concurrent.RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        SortTask( Node<AnyType> head, int count, java.util.Comparator<? super AnyType> cmp )
+        {
+            this.head = head; this.count = count; this.cmp = cmp;
+        }
+
+        protected void compute( )
+        {
+            if( count <= PARALLEL_SORT_THRESHOLD )
+            {
+                mergeSort( head, cmp );
+                return;
+            }
+
+            int half = count / 2;
+            Node<AnyType> mid = head.next;
+            for( int i = 1; i < half; i++ )
+                mid = mid.next;
+            Node<AnyType> secondHead = new Node<>( null, null, mid.next );
+            mid.next = null;
+
+            SortTask<AnyType> left = new SortTask<>( head, half, cmp );
+            left.fork( );
+            Throwable failure = null;
+            try
+            {
+                new SortTask<>( secondHead, count - half, cmp ).compute( );
+            }
+            catch( Throwable x )
+            {
+                failure = x;
+            }
+            try
+            {
+                left.join( );
+            }
+            catch( Throwable x )
+            {
+                if( failure == null )
+                    failure = x;
+            }
+
+            if( failure != null )
+            {
+                append( head, head.next, secondHead.next );
+                if( failure instanceof Error )
+                    throw (Error) failure;
+                if( failure instanceof RuntimeException )
+                    throw (RuntimeException) failure;
+                throw new RuntimeException( failure );
+            }
+            merge( head, head.next, secondHead.next, cmp );
+        }
+
+        private final Node<AnyType> head;
+        private final int count;
+        private final java.util.Comparator<? super AnyType> cmp;
+    }
+
     /**
      * Returns a String representation of this collection.
      */
@@ -323,6 +945,107 @@ public class MyLinkedList<AnyType> implements Iterable<AnyType>
         return new LinkedListIterator( );
     }
 
+    /**
+     * Obtains a Spliterator over the collection. It is SIZED and ORDERED,
+     * and splits at the true midpoint of its range, so parallel streams
+     * divide the list into equal halves.
+     * @return a spliterator over every element, in order.
+     */
+    @Override
+    public java.util.Spliterator<AnyType> spliterator( )
+    {
+        return new LinkedListSpliterator( beginMarker.next, size( ), modCount );
+    }
+
+    /**
+     * Returns a sequential Stream over the collection.
+     * @return a stream of every element, in order.
+     */
+    public java.util.stream.Stream<AnyType> stream( )
+    {
+        return java.util.stream.StreamSupport.stream( spliterator( ), false );
+    }
+
+    /**
+     * Returns a possibly parallel Stream over the collection.
+     * @return a parallel stream of every element, in order.
+     */
+    public java.util.stream.Stream<AnyType> parallelStream( )
+    {
+        return java.util.stream.StreamSupport.stream( spliterator( ), true );
+    }
+
+    /**
+     * This is the implementation of the LinkedListSpliterator.
+     * It covers the remaining nodes starting at current, and
+     * walks them directly without allocating per element.
+     */
+    private class LinkedListSpliterator implements java.util.Spliterator<AnyType>
+    {
+        private Node<AnyType> current;
+        private int remaining;
+        private final int expectedModCount;
+
+        LinkedListSpliterator( Node<AnyType> first, int count, int modCount )
+        {
+            current = first;
+            remaining = count;
+            expectedModCount = modCount;
+        }
+
+        public boolean tryAdvance( java.util.function.Consumer<? super AnyType> action )
+        {
+            if( remaining <= 0 )
+                return false;
+            if( modCount != expectedModCount )
+                throw new java.util.ConcurrentModificationException( );
+
+            AnyType item = current.data;
+            current = current.next;
+            remaining--;
+            action.accept( item );
+            return true;
+        }
+
+        public void forEachRemaining( java.util.function.Consumer<? super AnyType> action )
+        {
+            Node<AnyType> p = current;
+            for( int n = remaining; n > 0; n-- )
+            {
+                action.accept( p.data );
+                p = p.next;
+            }
+            current = p;
+            remaining = 0;
+            if( modCount != expectedModCount )
+                throw new java.util.ConcurrentModificationException( );
+        }
+
+        public java.util.Spliterator<AnyType> trySplit( )
+        {
+            if( remaining < MIN_SPLIT_SIZE )
+                return null;
+
+            int half = remaining / 2;
+            Node<AnyType> first = current;
+            for( int i = 0; i < half; i++ )
+                current = current.next;
+            remaining -= half;
+
+            return new LinkedListSpliterator( first, half, expectedModCount );
+        }
+
+        public long estimateSize( )
+        {
+            return remaining;
+        }
+
+        public int characteristics( )
+        {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+
     /**
      * This is the implementation of the LinkedListIterator.
      * It maintains a notion of a current position and of
@@ -380,10 +1103,17 @@ public class MyLinkedList<AnyType> implements Iterable<AnyType>
         public Node<AnyType>   next;
     }
 
+    private static final int MIN_SPLIT_SIZE = 1024;   // Smallest range worth splitting
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 14;   // Largest range sorted sequentially
+
     private int theSize;
     private int modCount = 0;
     private Node<AnyType> beginMarker;
     private Node<AnyType> endMarker;
+
+    private Node<AnyType> fingerNode;   // Most recently resolved node
+    private int fingerIdx;              // Position of fingerNode
+    private int fingerModCount = -1;    // modCount when fingerNode was resolved
 }
 
 class TestLinkedList
@@ -461,6 +1191,16 @@ class TestLinkedList
             System.out.println(e.toString());
         }
 
+        // demonstrate spliceList
+        newList.doClear();
+        newList.add(444);
+        newList.add(555);
+        lst.spliceList(2, newList);
+        System.out.println("Here's the list with another list's nodes moved in:");
+        System.out.println( lst );
+        System.out.println("Here's the list the nodes were moved from:");
+        System.out.println( newList );
+
         // demonstrate shift
         lst.shift(-4);
         System.out.println("Here's the list shifted 4 spaces left:");
@@ -469,6 +1209,60 @@ class TestLinkedList
         System.out.println("Here's the list shifted 6 spaces right:");
         System.out.println( lst );
 
+        // demonstrate views and reverseInPlace
+        System.out.println("Here's a reversed view of the list:");
+        System.out.println( lst.reversedView( ) );
+        System.out.println("Here's a view of elements 2-5 of the list, then the same view reversed:");
+        System.out.println( lst.subListView( 2, 6 ) );
+        System.out.println( lst.subListView( 2, 6 ).reversed( ) );
+        lst.reverseInPlace( );
+        System.out.println("Here's the list reversed in place:");
+        System.out.println( lst );
+
+        // demonstrate sort and mergeSorted
+        lst.sort( null );
+        System.out.println("Here's the list sorted:");
+        System.out.println( lst );
+        newList.doClear();
+        newList.add(5);
+        newList.add(100);
+        newList.add(1000);
+        lst.mergeSorted( newList, null );
+        System.out.println("Here's the list with [ 5 100 1000 ] merged in:");
+        System.out.println( lst );
+        lst.sort( java.util.Comparator.reverseOrder( ) );
+        System.out.println("Here's the list sorted in descending order:");
+        System.out.println( lst );
+
+        // a comparator that throws, even an Error, must leave every item in the list
+        int before = lst.size( );
+        int [ ] calls = { 0 };
+        java.util.Comparator<Integer> failing = ( x, y ) -> {
+            if( ++calls[ 0 ] == 5 )
+                throw new AssertionError( "comparator failed" );
+            return x.compareTo( y );
+        };
+        try
+        {
+            lst.sort( failing );
+            System.out.println("Sort should have thrown!");
+        }
+        catch( AssertionError e )
+        {
+            int count = 0;
+            for( Integer x : lst )
+                if( ++count > before )
+                    break;
+            if( count != before || lst.size( ) != before )
+                throw new IllegalStateException( "Items lost by a failed sort!" );
+            System.out.println("Sort failed with \"" + e.getMessage( ) + "\", list still holds all " + before + " items");
+        }
+        lst.sort( java.util.Comparator.reverseOrder( ) );
+
+        // demonstrate streams
+        System.out.print("Sum of the list computed by a parallel stream: ");
+        System.out.println( lst.parallelStream( ).mapToInt( Integer::intValue ).sum( ) );
+
         // demonstrate remove
         System.out.println("Remove the first element until empty:");
         java.util.Iterator<Integer> itr = lst.iterator( );
@@ -0,0 +1,439 @@
+/**
+ * PooledLinkedList class implements a doubly-linked list whose nodes
+ * live in parallel arrays and are linked by slot number instead of by
+ * reference. Removed slots go onto a free list and are reused by later
+ * adds, so once the arrays have grown to the working size, add, remove
+ * and swap allocate nothing, and a list built by appending is laid out
+ * contiguously.
+ * It offers the core operations of MyLinkedList but sits beside it
+ * rather than replacing its storage: spliceList moves a whole chain of
+ * Node objects from one MyLinkedList to another in constant time, which
+ * slot numbers local to one pool's arrays cannot do, and the list views
+ * and spliterator are written against Node references.
+ * Code that adds and removes heavily and never splices or takes views
+ * should use this class; everything else should keep MyLinkedList.
+ */
+public class PooledLinkedList<AnyType> implements Iterable<AnyType>
+{
+    /**
+     * Construct an empty PooledLinkedList.
+     */
+    public PooledLinkedList( )
+    {
+        this( DEFAULT_CAPACITY );
+    }
+
+    /**
+     * Construct an empty PooledLinkedList.
+     * @param capacity the number of items to make room for.
+     */
+    public PooledLinkedList( int capacity )
+    {
+        int slots = Math.max( capacity, 1 ) + FIRST_FREE;
+        data = new Object[ slots ];
+        prev = new int[ slots ];
+        next = new int[ slots ];
+        doClear( );
+    }
+
+    /**
+     * Change the size of this collection to zero.
+     * The slot arrays are kept for reuse.
+     */
+    public void doClear( )
+    {
+        java.util.Arrays.fill( data, null );
+        next[ BEGIN_MARKER ] = END_MARKER;
+        prev[ END_MARKER ] = BEGIN_MARKER;
+
+        freeList = NIL;
+        for( int s = data.length - 1; s >= FIRST_FREE; s-- )
+            freeSlot( s );
+
+        theSize = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the number of items in this collection.
+     * @return the number of items in this collection.
+     */
+    public int size( )
+    {
+        return theSize;
+    }
+
+    public boolean isEmpty( )
+    {
+        return size( ) == 0;
+    }
+
+    /**
+     * Adds an item to this collection, at the end.
+     * @param x any object.
+     * @return true.
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    public boolean add( AnyType x )
+    {
+        addBefore( END_MARKER, x );
+        return true;
+    }
+
+    /**
+     * Adds an item to this collection, at specified position.
+     * Items at or after that position are slid one position higher.
+     * @param x any object.
+     * @param idx position to add at.
+     * @throws IndexOutOfBoundsException if idx is not between 0 and size(), inclusive.
+     */
+    public void add( int idx, AnyType x )
+    {
+        addBefore( getNode( idx, 0, size( ) ), x );
+    }
+
+    /**
+     * Adds an item to this collection, before the node in slot p.
+     * @param p slot of the node to add before.
+     * @param x any object.
+     */
+    private void addBefore( int p, AnyType x )
+    {
+        int s = allocateSlot( );
+        data[ s ] = x;
+        linkBefore( p, s );
+        theSize++;
+        modCount++;
+    }
+
+    /**
+     * Returns the item at position idx.
+     * @param idx the index to search in.
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    @SuppressWarnings("unchecked")
+    public AnyType get( int idx )
+    {
+        return (AnyType) data[ getNode( idx ) ];
+    }
+
+    /**
+     * Changes the item at position idx.
+     * @param idx the index to change.
+     * @param newVal the new value.
+     * @return the old value.
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    @SuppressWarnings("unchecked")
+    public AnyType set( int idx, AnyType newVal )
+    {
+        int p = getNode( idx );
+        AnyType oldVal = (AnyType) data[ p ];
+
+        data[ p ] = newVal;
+        return oldVal;
+    }
+
+    /**
+     * Checks whether the specified index is within the limits of the list
+     * @param idx index to search at.
+     * @param lower lowest valid index.
+     * @param upper highest valid index.
+     */
+    private void checkBounds( int idx, int lower, int upper )
+    {
+        if( idx < lower || idx > upper )
+            throw new IndexOutOfBoundsException( "index: " + idx + "; size: " + size( ) + ". Called by " + Thread.currentThread().getStackTrace()[2].getMethodName());
+    }
+
+    /**
+     * Gets the slot of the node at position idx, which must range from 0 to size( ) - 1.
+     * @param idx index to search at.
+     * @return slot of the node corresponding to idx.
+     * @throws IndexOutOfBoundsException if idx is not between 0 and size( ) - 1, inclusive.
+     */
+    private int getNode( int idx )
+    {
+        return getNode( idx, 0, size( ) - 1 );
+    }
+
+    /**
+     * Gets the slot of the node at position idx, which must range from lower to upper.
+     * @param idx index to search at.
+     * @param lower lowest valid index.
+     * @param upper highest valid index.
+     * @return slot of the node corresponding to idx.
+     * @throws IndexOutOfBoundsException if idx is not between lower and upper, inclusive.
+     */
+    private int getNode( int idx, @SuppressWarnings("SameParameterValue") int lower, int upper )
+    {
+        int p;
+
+        checkBounds( idx, lower, upper );
+
+        if( idx < size( ) / 2 )
+        {
+            p = next[ BEGIN_MARKER ];
+            for( int i = 0; i < idx; i++ )
+                p = next[ p ];
+        }
+        else
+        {
+            p = END_MARKER;
+            for( int i = size( ); i > idx; i-- )
+                p = prev[ p ];
+        }
+
+        return p;
+    }
+
+    /**
+     * Removes an item from this collection.
+     * @param idx the index of the object.
+     * @return the item was removed from the collection.
+     */
+    public AnyType remove( int idx )
+    {
+        return removeSlot( getNode( idx ) );
+    }
+
+    /**
+     * Removes the object contained in the node in slot p, and frees the slot.
+     * @param p slot of the node containing the object.
+     * @return the item was removed from the collection.
+     */
+    @SuppressWarnings("unchecked")
+    private AnyType removeSlot( int p )
+    {
+        AnyType removed = (AnyType) data[ p ];
+        unlink( p );
+        freeSlot( p );
+        theSize--;
+        modCount++;
+
+        return removed;
+    }
+
+    /**
+     * Receives two index positions as parameters and swaps the two nodes
+     * (the nodes, not just the values inside) at these positions, provided
+     * both positions are within the current size
+     * @param idx1 the index of the first node to swap.
+     * @param idx2 the index of the second node to swap.
+     */
+    public void swap( int idx1, int idx2 )
+    {
+        int a = getNode( idx1 );
+        int b = getNode( idx2 );
+        if( a == b )
+            return;
+
+        int afterA = next[ a ];
+        int afterB = next[ b ];
+
+        if( afterA == b )
+        {
+            unlink( b );
+            linkBefore( a, b );
+        }
+        else if( afterB == a )
+        {
+            unlink( a );
+            linkBefore( b, a );
+        }
+        else
+        {
+            unlink( a );
+            linkBefore( afterB, a );
+            unlink( b );
+            linkBefore( afterA, b );
+        }
+        modCount++;
+    }
+
+    /**
+     * Returns a new PooledLinkedList that has the elements in reverse order.
+     * @return a reversed version of this list
+     */
+    @SuppressWarnings("unchecked")
+    public PooledLinkedList<AnyType> reverse( )
+    {
+        PooledLinkedList<AnyType> r = new PooledLinkedList<>( size( ) );
+        for( int p = prev[ END_MARKER ]; p != BEGIN_MARKER; p = prev[ p ] )
+            r.add( (AnyType) data[ p ] );
+
+        return r;
+    }
+
+    /**
+     * Returns a String representation of this collection.
+     */
+    public String toString( )
+    {
+        StringBuilder sb = new StringBuilder( "[ " );
+
+        for( AnyType x : this )
+            sb.append(x).append(" ");
+        sb.append( "]" );
+
+        return new String( sb );
+    }
+
+    /**
+     * Links the unlinked node in slot s into the list before slot p.
+     */
+    private void linkBefore( int p, int s )
+    {
+        prev[ s ] = prev[ p ];
+        next[ s ] = p;
+        next[ prev[ p ] ] = s;
+        prev[ p ] = s;
+    }
+
+    /**
+     * Unlinks the node in slot p from its neighbours.
+     */
+    private void unlink( int p )
+    {
+        next[ prev[ p ] ] = next[ p ];
+        prev[ next[ p ] ] = prev[ p ];
+    }
+
+    /**
+     * Takes a slot off the free list, doubling the arrays if it is empty.
+     * @return an unused slot.
+     */
+    private int allocateSlot( )
+    {
+        if( freeList == NIL )
+        {
+            int oldLength = data.length;
+            int newLength = oldLength * 2;
+            data = java.util.Arrays.copyOf( data, newLength );
+            prev = java.util.Arrays.copyOf( prev, newLength );
+            next = java.util.Arrays.copyOf( next, newLength );
+            for( int s = newLength - 1; s >= oldLength; s-- )
+                freeSlot( s );
+        }
+
+        int s = freeList;
+        freeList = next[ s ];
+        return s;
+    }
+
+    /**
+     * Puts slot s on the free list, chained through next[ ].
+     */
+    private void freeSlot( int s )
+    {
+        data[ s ] = null;
+        next[ s ] = freeList;
+        freeList = s;
+    }
+
+    /**
+     * Obtains an Iterator object used to traverse the collection.
+     * @return an iterator positioned prior to the first element.
+     */
+    public java.util.Iterator<AnyType> iterator( )
+    {
+        return new PooledListIterator( );
+    }
+
+    /**
+     * This is the implementation of the PooledListIterator.
+     * It maintains a notion of a current slot and of
+     * course the implicit reference to the PooledLinkedList.
+     */
+    private class PooledListIterator implements java.util.Iterator<AnyType>
+    {
+        private int current = next[ BEGIN_MARKER ];
+        private int expectedModCount = modCount;
+        private boolean okToRemove = false;
+
+        public boolean hasNext( )
+        {
+            return current != END_MARKER;
+        }
+
+        @SuppressWarnings("unchecked")
+        public AnyType next( )
+        {
+            if( modCount != expectedModCount )
+                throw new java.util.ConcurrentModificationException( );
+            if( !hasNext( ) )
+                throw new java.util.NoSuchElementException( );
+
+            AnyType nextItem = (AnyType) data[ current ];
+            current = next[ current ];
+            okToRemove = true;
+            return nextItem;
+        }
+
+        public void remove( )
+        {
+            if( modCount != expectedModCount )
+                throw new java.util.ConcurrentModificationException( );
+            if( !okToRemove )
+                throw new IllegalStateException( );
+
+            removeSlot( prev[ current ] );
+            expectedModCount++;
+            okToRemove = false;
+        }
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int NIL = -1;              // End of the free list
+    private static final int BEGIN_MARKER = 0;      // Slot of the header sentinel
+    private static final int END_MARKER = 1;        // Slot of the tail sentinel
+    private static final int FIRST_FREE = 2;        // First slot available for items
+
+    private Object [ ] data;    // Item in each slot
+    private int [ ] prev;       // Slot of the previous node
+    private int [ ] next;       // Slot of the next node, or of the next free slot
+    private int freeList;       // First free slot, or NIL
+    private int theSize;
+    private int modCount = 0;
+}
+
+class TestPooledLinkedList
+{
+    public static void main( String [ ] args )
+    {
+        PooledLinkedList<Integer> lst = new PooledLinkedList<>( );
+
+        for( int i = 0; i < 10; i++ )
+            lst.add( i );
+        for( int i = 20; i < 30; i++ )
+            lst.add( 0, i );
+
+        System.out.println("Here's the initial list:");
+        System.out.println( lst );
+
+        System.out.println("Here's the reversed list:");
+        System.out.println( lst.reverse( ) );
+
+        lst.swap(3, 5);
+        System.out.println("Here's the list with elements 3 and 5 swapped:");
+        System.out.println( lst );
+
+        lst.swap(7, 6);
+        System.out.println("Here's the list with neighbours 6 and 7 swapped:");
+        System.out.println( lst );
+
+        lst.remove( 0 );
+        lst.remove( lst.size( ) - 1 );
+        System.out.println("Here's the list with first and last elements removed:");
+        System.out.println( lst );
+
+        System.out.println("Remove the first element until empty:");
+        java.util.Iterator<Integer> itr = lst.iterator( );
+        while( itr.hasNext( ) )
+        {
+            itr.next( );
+            itr.remove( );
+            System.out.println( lst );
+        }
+    }
+}
@@ -0,0 +1,572 @@
+/**
+ * TreeList class implements a list on top of a size-augmented AVL tree.
+ * It offers the same operations as MyLinkedList, but the in-order
+ * position of every node is recovered from subtree sizes, so add,
+ * remove, get and set at any index take O(log n) instead of O(n).
+ */
+public class TreeList<AnyType> implements Iterable<AnyType>
+{
+    /**
+     * Construct an empty TreeList.
+     */
+    public TreeList( )
+    {
+        doClear( );
+    }
+
+    /**
+     * Change the size of this collection to zero.
+     */
+    public void doClear( )
+    {
+        root = null;
+        modCount++;
+    }
+
+    /**
+     * Returns the number of items in this collection.
+     * @return the number of items in this collection.
+     */
+    public int size( )
+    {
+        return size( root );
+    }
+
+    public boolean isEmpty( )
+    {
+        return size( ) == 0;
+    }
+
+    /**
+     * Adds an item to this collection, at the end.
+     * @param x any object.
+     * @return true.
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    public boolean add( AnyType x )
+    {
+        add( size( ), x );
+        return true;
+    }
+
+    /**
+     * Adds an item to this collection, at specified position.
+     * Items at or after that position are slid one position higher.
+     * @param x any object.
+     * @param idx position to add at.
+     * @throws IndexOutOfBoundsException if idx is not between 0 and size(), inclusive.
+     */
+    public void add( int idx, AnyType x )
+    {
+        checkBounds( idx, 0, size( ) );
+        root = insert( idx, x, root );
+        modCount++;
+    }
+
+    /**
+     * Returns the item at position idx.
+     * @param idx the index to search in.
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    public AnyType get( int idx )
+    {
+        return getNode( idx ).element;
+    }
+
+    /**
+     * Changes the item at position idx.
+     * @param idx the index to change.
+     * @param newVal the new value.
+     * @return the old value.
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    public AnyType set( int idx, AnyType newVal )
+    {
+        AvlNode<AnyType> p = getNode( idx );
+        AnyType oldVal = p.element;
+
+        p.element = newVal;
+        return oldVal;
+    }
+
+    /**
+     * Checks whether the specified index is within the limits of the list
+     * @param idx index to search at.
+     * @param lower lowest valid index.
+     * @param upper highest valid index.
+     */
+    private void checkBounds( int idx, int lower, int upper )
+    {
+        if( idx < lower || idx > upper )
+            throw new IndexOutOfBoundsException( "index: " + idx + "; size: " + size( ) + ". Called by " + Thread.currentThread().getStackTrace()[2].getMethodName());
+    }
+
+    /**
+     * Gets the node at position idx, which must range from 0 to size( ) - 1.
+     * @param idx index to search at.
+     * @return internal node corresponding to idx.
+     * @throws IndexOutOfBoundsException if idx is not between 0 and size( ) - 1, inclusive.
+     */
+    private AvlNode<AnyType> getNode( int idx )
+    {
+        checkBounds( idx, 0, size( ) - 1 );
+
+        AvlNode<AnyType> t = root;
+        for( ; ; )
+        {
+            int leftSize = size( t.left );
+            if( idx < leftSize )
+                t = t.left;
+            else if( idx > leftSize )
+            {
+                idx -= leftSize + 1;
+                t = t.right;
+            }
+            else
+                return t;
+        }
+    }
+
+    /**
+     * Removes an item from this collection.
+     * @param idx the index of the object.
+     * @return the item was removed from the collection.
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    public AnyType remove( int idx )
+    {
+        AnyType removed = get( idx );
+        root = remove( idx, root );
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Receives two index positions as parameters and swaps the two items
+     * at these positions, provided both positions are within the current size
+     * @param idx1 the index of the first item to swap.
+     * @param idx2 the index of the second item to swap.
+     */
+    public void swap( int idx1, int idx2 )
+    {
+        AvlNode<AnyType> a = getNode( idx1 );
+        AvlNode<AnyType> b = getNode( idx2 );
+
+        AnyType c = a.element;
+        a.element = b.element;
+        b.element = c;
+    }
+
+    /**
+     * Returns a new TreeList that has the elements in reverse order.
+     * The result is built bottom-up in linear time.
+     * @return a reversed version of this list
+     */
+    @SuppressWarnings("unchecked")
+    public TreeList<AnyType> reverse( )
+    {
+        Object [ ] items = new Object[ size( ) ];
+        int i = items.length;
+        for( AnyType x : this )
+            items[ --i ] = x;
+
+        TreeList<AnyType> r = new TreeList<>( );
+        r.root = build( (AnyType [ ]) items, 0, items.length - 1 );
+        return r;
+    }
+
+    /**
+     * receives an index position and number of elements as parameters, and
+     * removes elements beginning at the index position for the number of
+     * elements specified, provided the index position is within the size
+     * and together with the number of elements does not exceed the size
+     * @param idx the index of the first node to be erased.
+     * @param num the number of nodes to erase
+     */
+    public void erase( int idx, int num )
+    {
+        checkBounds( idx, 0, size( ) - 1 );
+        checkBounds( idx + num - 1, 0, size( ) - 1 );
+
+        while( num-- > 0 )
+            root = remove( idx, root );
+        modCount++;
+    }
+
+    /**
+     * receives a List and an index position as parameters, and copies all of the
+     * passed list into the existing list at the position specified by the parameter,
+     * provided the index position does not exceed the size
+     * @param idx the index where the new list should be inserted.
+     * @param l the new list to be inserted.
+     */
+    public void insertList( int idx, TreeList<AnyType> l )
+    {
+        checkBounds( idx, 0, size( ) - 1 );
+        for( AnyType x : l.reverse( ) )
+            root = insert( idx, x, root );
+        modCount++;
+    }
+
+    /**
+     * receives an integer and shifts the list this many nodes forward or backward,
+     * for example, if passed -2, the first two nodes move to the tail, or if
+     * passed 3, the last three nodes move to the front.
+     *
+     * e.g. -2:  abcde -> cdeab       +3:  abcde ->  cdeab
+     *
+     * @param spaces the number of spaces by which to shift this list
+     */
+    public void shift( int spaces )
+    {
+        int n = size( );
+        if( n == 0 )
+            return;
+
+        int k = spaces % n;
+        if( k < 0 )
+            k += n;
+
+        if( k <= n / 2 )
+            for( ; k > 0; k-- )
+                root = insert( 0, removeAt( n - 1 ), root );
+        else
+            for( k = n - k; k > 0; k-- )
+                root = insert( n - 1, removeAt( 0 ), root );
+        modCount++;
+    }
+
+    /**
+     * Removes the item at position idx without touching modCount.
+     * @param idx the index of the object.
+     * @return the item was removed.
+     */
+    private AnyType removeAt( int idx )
+    {
+        AnyType removed = getNode( idx ).element;
+        root = remove( idx, root );
+        return removed;
+    }
+
+    /**
+     * Returns a String representation of this collection.
+     */
+    public String toString( )
+    {
+        StringBuilder sb = new StringBuilder( "[ " );
+
+        for( AnyType x : this )
+            sb.append(x).append(" ");
+        sb.append( "]" );
+
+        return new String( sb );
+    }
+
+    /**
+     * Internal method to insert into a subtree.
+     * @param idx the position within the subtree to insert at.
+     * @param x the item to insert.
+     * @param t the node that roots the subtree.
+     * @return the new root of the subtree.
+     */
+    private AvlNode<AnyType> insert( int idx, AnyType x, AvlNode<AnyType> t )
+    {
+        if( t == null )
+            return new AvlNode<>( x, null, null );
+
+        int leftSize = size( t.left );
+        if( idx <= leftSize )
+            t.left = insert( idx, x, t.left );
+        else
+            t.right = insert( idx - leftSize - 1, x, t.right );
+        return balance( t );
+    }
+
+    /**
+     * Internal method to remove from a subtree.
+     * @param idx the position within the subtree of the item to remove.
+     * @param t the node that roots the subtree.
+     * @return the new root of the subtree.
+     */
+    private AvlNode<AnyType> remove( int idx, AvlNode<AnyType> t )
+    {
+        int leftSize = size( t.left );
+
+        if( idx < leftSize )
+            t.left = remove( idx, t.left );
+        else if( idx > leftSize )
+            t.right = remove( idx - leftSize - 1, t.right );
+        else if( t.left != null && t.right != null ) // Two children
+        {
+            AvlNode<AnyType> min = t.right;
+            while( min.left != null )
+                min = min.left;
+            t.element = min.element;
+            t.right = remove( 0, t.right );
+        }
+        else
+            return ( t.left != null ) ? t.left : t.right;
+        return balance( t );
+    }
+
+    /**
+     * Internal method to build a perfectly balanced subtree from items[ low..high ].
+     * @return the root of the subtree.
+     */
+    private static <AnyType> AvlNode<AnyType> build( AnyType [ ] items, int low, int high )
+    {
+        if( low > high )
+            return null;
+
+        int mid = ( low + high ) >>> 1;
+        AvlNode<AnyType> t = new AvlNode<>( items[ mid ], build( items, low, mid - 1 ), build( items, mid + 1, high ) );
+        update( t );
+        return t;
+    }
+
+    private static final int ALLOWED_IMBALANCE = 1;
+
+    // Assume t is either balanced or within one of being balanced
+    private static <AnyType> AvlNode<AnyType> balance( AvlNode<AnyType> t )
+    {
+        if( height( t.left ) - height( t.right ) > ALLOWED_IMBALANCE )
+        {
+            if( height( t.left.left ) >= height( t.left.right ) )
+                t = rotateWithLeftChild( t );
+            else
+                t = doubleWithLeftChild( t );
+        }
+        else if( height( t.right ) - height( t.left ) > ALLOWED_IMBALANCE )
+        {
+            if( height( t.right.right ) >= height( t.right.left ) )
+                t = rotateWithRightChild( t );
+            else
+                t = doubleWithRightChild( t );
+        }
+
+        update( t );
+        return t;
+    }
+
+    /**
+     * Recomputes the height and size of t from its children.
+     */
+    private static <AnyType> void update( AvlNode<AnyType> t )
+    {
+        t.height = Math.max( height( t.left ), height( t.right ) ) + 1;
+        t.size = size( t.left ) + size( t.right ) + 1;
+    }
+
+    /**
+     * Return the height of node t, or -1, if null.
+     */
+    private static <AnyType> int height( AvlNode<AnyType> t )
+    {
+        return t == null ? -1 : t.height;
+    }
+
+    /**
+     * Return the number of nodes in the subtree rooted at t, or 0, if null.
+     */
+    private static <AnyType> int size( AvlNode<AnyType> t )
+    {
+        return t == null ? 0 : t.size;
+    }
+
+    /**
+     * Rotate binary tree node with left child.
+     * Update heights and sizes, then return new root.
+     */
+    private static <AnyType> AvlNode<AnyType> rotateWithLeftChild( AvlNode<AnyType> k2 )
+    {
+        AvlNode<AnyType> k1 = k2.left;
+        k2.left = k1.right;
+        k1.right = k2;
+        update( k2 );
+        update( k1 );
+        return k1;
+    }
+
+    /**
+     * Rotate binary tree node with right child.
+     * Update heights and sizes, then return new root.
+     */
+    private static <AnyType> AvlNode<AnyType> rotateWithRightChild( AvlNode<AnyType> k1 )
+    {
+        AvlNode<AnyType> k2 = k1.right;
+        k1.right = k2.left;
+        k2.left = k1;
+        update( k1 );
+        update( k2 );
+        return k2;
+    }
+
+    /**
+     * Double rotate binary tree node: first left child
+     * with its right child; then node k3 with new left child.
+     */
+    private static <AnyType> AvlNode<AnyType> doubleWithLeftChild( AvlNode<AnyType> k3 )
+    {
+        k3.left = rotateWithRightChild( k3.left );
+        return rotateWithLeftChild( k3 );
+    }
+
+    /**
+     * Double rotate binary tree node: first right child
+     * with its left child; then node k1 with new right child.
+     */
+    private static <AnyType> AvlNode<AnyType> doubleWithRightChild( AvlNode<AnyType> k1 )
+    {
+        k1.right = rotateWithLeftChild( k1.right );
+        return rotateWithRightChild( k1 );
+    }
+
+    /**
+     * Obtains an Iterator object used to traverse the collection.
+     * @return an iterator positioned prior to the first element.
+     */
+    public java.util.Iterator<AnyType> iterator( )
+    {
+        return new TreeListIterator( );
+    }
+
+    /**
+     * This is the implementation of the TreeListIterator.
+     * It keeps the path to the next node on an explicit stack,
+     * so a full traversal takes linear time.
+     */
+    private class TreeListIterator implements java.util.Iterator<AnyType>
+    {
+        private java.util.ArrayDeque<AvlNode<AnyType>> path = new java.util.ArrayDeque<>( );
+        private int nextIndex = 0;
+        private int expectedModCount = modCount;
+        private boolean okToRemove = false;
+
+        TreeListIterator( )
+        {
+            descendTo( 0 );
+        }
+
+        /**
+         * Rebuilds the path so that its top is the node at position idx.
+         */
+        private void descendTo( int idx )
+        {
+            path.clear( );
+            AvlNode<AnyType> t = root;
+            while( t != null )
+            {
+                int leftSize = size( t.left );
+                if( idx <= leftSize )
+                {
+                    path.push( t );
+                    if( idx == leftSize )
+                        return;
+                    t = t.left;
+                }
+                else
+                {
+                    idx -= leftSize + 1;
+                    t = t.right;
+                }
+            }
+        }
+
+        public boolean hasNext( )
+        {
+            return !path.isEmpty( );
+        }
+
+        public AnyType next( )
+        {
+            if( modCount != expectedModCount )
+                throw new java.util.ConcurrentModificationException( );
+            if( !hasNext( ) )
+                throw new java.util.NoSuchElementException( );
+
+            AvlNode<AnyType> t = path.pop( );
+            for( AvlNode<AnyType> p = t.right; p != null; p = p.left )
+                path.push( p );
+            nextIndex++;
+            okToRemove = true;
+            return t.element;
+        }
+
+        public void remove( )
+        {
+            if( modCount != expectedModCount )
+                throw new java.util.ConcurrentModificationException( );
+            if( !okToRemove )
+                throw new IllegalStateException( );
+
+            TreeList.this.remove( --nextIndex );
+            descendTo( nextIndex );
+            expectedModCount++;
+            okToRemove = false;
+        }
+    }
+
+    /**
+     * This is the AVL tree node, augmented with the size of its subtree.
+     */
+    private static class AvlNode<AnyType>
+    {
+        AvlNode( AnyType theElement, AvlNode<AnyType> lt, AvlNode<AnyType> rt )
+        {
+            element  = theElement;
+            left     = lt;
+            right    = rt;
+            height   = 0;
+            size     = 1;
+        }
+
+        AnyType           element;      // The data in the node
+        AvlNode<AnyType>  left;         // Left child
+        AvlNode<AnyType>  right;        // Right child
+        int               height;       // Height
+        int               size;         // Number of nodes in this subtree
+    }
+
+    private AvlNode<AnyType> root;
+    private int modCount = 0;
+}
+
+class TestTreeList
+{
+    public static void main( String [ ] args )
+    {
+        TreeList<Integer> lst = new TreeList<>( );
+
+        for( int i = 0; i < 10; i++ )
+            lst.add( i );
+        for( int i = 20; i < 30; i++ )
+            lst.add( 0, i );
+
+        System.out.println("Here's the initial list:");
+        System.out.println( lst );
+
+        System.out.println("Here's the reversed list:");
+        System.out.println( lst.reverse( ) );
+
+        lst.swap(3, 5);
+        System.out.println("Here's the list with elements 3 and 5 swapped:");
+        System.out.println( lst );
+
+        lst.erase(6, 3);
+        System.out.println("Here's the list with elements 6-8 removed:");
+        System.out.println( lst );
+
+        lst.shift(-4);
+        System.out.println("Here's the list shifted 4 spaces left:");
+        System.out.println( lst );
+
+        System.out.println("Remove the first element until empty:");
+        java.util.Iterator<Integer> itr = lst.iterator( );
+        while( itr.hasNext( ) )
+        {
+            itr.next( );
+            itr.remove( );
+            System.out.println( lst );
+        }
+    }
+}
@@ -0,0 +1,448 @@
+/**
+ * UnrolledLinkedList class implements a doubly-linked list in which
+ * every node holds a small array of items rather than a single item.
+ * It offers the same operations as MyLinkedList, but a list of n items
+ * needs only about n / capacity nodes, so it uses a fraction of the heap
+ * and iteration walks contiguous arrays instead of chasing a pointer
+ * for every item.
+ */
+public class UnrolledLinkedList<AnyType> implements Iterable<AnyType>
+{
+    /**
+     * Construct an empty UnrolledLinkedList with the default node capacity.
+     */
+    public UnrolledLinkedList( )
+    {
+        this( DEFAULT_NODE_CAPACITY );
+    }
+
+    /**
+     * Construct an empty UnrolledLinkedList.
+     * @param nodeCapacity the number of items each node can hold.
+     * @throws IllegalArgumentException if nodeCapacity is less than 2.
+     */
+    public UnrolledLinkedList( int nodeCapacity )
+    {
+        if( nodeCapacity < 2 )
+            throw new IllegalArgumentException( "Node capacity must be at least 2: " + nodeCapacity );
+        this.nodeCapacity = nodeCapacity;
+        doClear( );
+    }
+
+    /**
+     * Change the size of this collection to zero.
+     */
+    public void doClear( )
+    {
+        beginMarker = new Node<>( 0, null, null );
+        endMarker = new Node<>( 0, beginMarker, null );
+        beginMarker.next = endMarker;
+
+        theSize = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the number of items in this collection.
+     * @return the number of items in this collection.
+     */
+    public int size( )
+    {
+        return theSize;
+    }
+
+    public boolean isEmpty( )
+    {
+        return size( ) == 0;
+    }
+
+    /**
+     * Adds an item to this collection, at the end.
+     * @param x any object.
+     * @return true.
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    public boolean add( AnyType x )
+    {
+        Node<AnyType> p = endMarker.prev;
+        if( p == beginMarker || p.count == nodeCapacity )
+            p = addNodeAfter( p );
+        p.items[ p.count++ ] = x;
+        theSize++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Adds an item to this collection, at specified position.
+     * Items at or after that position are slid one position higher.
+     * @param x any object.
+     * @param idx position to add at.
+     * @throws IndexOutOfBoundsException if idx is not between 0 and size(), inclusive.
+     */
+    public void add( int idx, AnyType x )
+    {
+        checkBounds( idx, 0, size( ) );
+        if( idx == size( ) )
+        {
+            add( x );
+            return;
+        }
+
+        Node<AnyType> p = getNode( idx );
+        int offset = foundOffset;
+
+        if( p.count == nodeCapacity )
+        {
+            Node<AnyType> q = addNodeAfter( p );
+            int half = p.count / 2;
+            System.arraycopy( p.items, half, q.items, 0, p.count - half );
+            java.util.Arrays.fill( p.items, half, p.count, null );
+            q.count = p.count - half;
+            p.count = half;
+            if( offset > half )
+            {
+                p = q;
+                offset -= half;
+            }
+        }
+
+        System.arraycopy( p.items, offset, p.items, offset + 1, p.count - offset );
+        p.items[ offset ] = x;
+        p.count++;
+        theSize++;
+        modCount++;
+    }
+
+    /**
+     * Returns the item at position idx.
+     * @param idx the index to search in.
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    @SuppressWarnings("unchecked")
+    public AnyType get( int idx )
+    {
+        checkBounds( idx, 0, size( ) - 1 );
+        return (AnyType) getNode( idx ).items[ foundOffset ];
+    }
+
+    /**
+     * Changes the item at position idx.
+     * @param idx the index to change.
+     * @param newVal the new value.
+     * @return the old value.
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    @SuppressWarnings("unchecked")
+    public AnyType set( int idx, AnyType newVal )
+    {
+        checkBounds( idx, 0, size( ) - 1 );
+        Node<AnyType> p = getNode( idx );
+        AnyType oldVal = (AnyType) p.items[ foundOffset ];
+
+        p.items[ foundOffset ] = newVal;
+        return oldVal;
+    }
+
+    /**
+     * Checks whether the specified index is within the limits of the list
+     * @param idx index to search at.
+     * @param lower lowest valid index.
+     * @param upper highest valid index.
+     */
+    private void checkBounds( int idx, int lower, int upper )
+    {
+        if( idx < lower || idx > upper )
+            throw new IndexOutOfBoundsException( "index: " + idx + "; size: " + size( ) + ". Called by " + Thread.currentThread().getStackTrace()[2].getMethodName());
+    }
+
+    /**
+     * Gets the Node holding position idx, which must range from 0 to size( ) - 1.
+     * The position of idx inside the node is left in foundOffset.
+     * @param idx index to search at.
+     * @return internal node holding idx.
+     */
+    private Node<AnyType> getNode( int idx )
+    {
+        Node<AnyType> p;
+
+        if( idx < size( ) / 2 )
+        {
+            p = beginMarker.next;
+            while( idx >= p.count )
+            {
+                idx -= p.count;
+                p = p.next;
+            }
+            foundOffset = idx;
+        }
+        else
+        {
+            p = endMarker.prev;
+            int start = size( ) - p.count;
+            while( idx < start )
+            {
+                p = p.prev;
+                start -= p.count;
+            }
+            foundOffset = idx - start;
+        }
+
+        return p;
+    }
+
+    /**
+     * Links a new, empty node into the list after p.
+     * @param p the node to add after.
+     * @return the new node.
+     */
+    private Node<AnyType> addNodeAfter( Node<AnyType> p )
+    {
+        Node<AnyType> newNode = new Node<>( nodeCapacity, p, p.next );
+        p.next.prev = newNode;
+        p.next = newNode;
+        return newNode;
+    }
+
+    /**
+     * Removes an item from this collection.
+     * @param idx the index of the object.
+     * @return the item was removed from the collection.
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    public AnyType remove( int idx )
+    {
+        checkBounds( idx, 0, size( ) - 1 );
+        Node<AnyType> p = getNode( idx );
+        return remove( p, foundOffset );
+    }
+
+    /**
+     * Removes the item at the given offset of node p. A node that becomes
+     * less than half full takes items from its successor, or absorbs it
+     * entirely when they fit, so every item that followed the removed one
+     * is either still in p at or after offset, or at the front of p.next.
+     * @param p the Node containing the object.
+     * @param offset the position of the object inside p.
+     * @return the item was removed from the collection.
+     */
+    @SuppressWarnings("unchecked")
+    private AnyType remove( Node<AnyType> p, int offset )
+    {
+        AnyType removed = (AnyType) p.items[ offset ];
+        System.arraycopy( p.items, offset + 1, p.items, offset, p.count - offset - 1 );
+        p.items[ --p.count ] = null;
+
+        if( p.count == 0 )
+        {
+            p.next.prev = p.prev;
+            p.prev.next = p.next;
+        }
+        else if( p.count < nodeCapacity / 2 && p.next != endMarker )
+        {
+            Node<AnyType> q = p.next;
+            int moved = ( p.count + q.count <= nodeCapacity ) ? q.count : ( q.count - p.count ) / 2;
+            System.arraycopy( q.items, 0, p.items, p.count, moved );
+            System.arraycopy( q.items, moved, q.items, 0, q.count - moved );
+            java.util.Arrays.fill( q.items, q.count - moved, q.count, null );
+            p.count += moved;
+            q.count -= moved;
+            if( q.count == 0 )
+            {
+                q.next.prev = p;
+                p.next = q.next;
+            }
+        }
+
+        theSize--;
+        modCount++;
+
+        return removed;
+    }
+
+    /**
+     * Receives two index positions as parameters and swaps the two items
+     * at these positions, provided both positions are within the current size
+     * @param idx1 the index of the first item to swap.
+     * @param idx2 the index of the second item to swap.
+     */
+    public void swap( int idx1, int idx2 )
+    {
+        checkBounds( idx1, 0, size( ) - 1 );
+        checkBounds( idx2, 0, size( ) - 1 );
+
+        Node<AnyType> a = getNode( idx1 );
+        int offsetA = foundOffset;
+        Node<AnyType> b = getNode( idx2 );
+        int offsetB = foundOffset;
+
+        Object c = a.items[ offsetA ];
+        a.items[ offsetA ] = b.items[ offsetB ];
+        b.items[ offsetB ] = c;
+    }
+
+    /**
+     * Returns a new UnrolledLinkedList that has the elements in reverse order.
+     * @return a reversed version of this list
+     */
+    @SuppressWarnings("unchecked")
+    public UnrolledLinkedList<AnyType> reverse( )
+    {
+        UnrolledLinkedList<AnyType> r = new UnrolledLinkedList<>( nodeCapacity );
+        for( Node<AnyType> p = endMarker.prev; p != beginMarker; p = p.prev )
+            for( int i = p.count - 1; i >= 0; i-- )
+                r.add( (AnyType) p.items[ i ] );
+
+        return r;
+    }
+
+    /**
+     * Returns a String representation of this collection.
+     */
+    public String toString( )
+    {
+        StringBuilder sb = new StringBuilder( "[ " );
+
+        for( AnyType x : this )
+            sb.append(x).append(" ");
+        sb.append( "]" );
+
+        return new String( sb );
+    }
+
+    /**
+     * Obtains an Iterator object used to traverse the collection.
+     * @return an iterator positioned prior to the first element.
+     */
+    public java.util.Iterator<AnyType> iterator( )
+    {
+        return new UnrolledListIterator( );
+    }
+
+    /**
+     * This is the implementation of the UnrolledListIterator.
+     * It maintains a notion of a current node and an offset into it,
+     * and of course the implicit reference to the UnrolledLinkedList.
+     */
+    private class UnrolledListIterator implements java.util.Iterator<AnyType>
+    {
+        private Node<AnyType> current = beginMarker.next;
+        private int offset = 0;
+        private int nextIndex = 0;
+        private Node<AnyType> lastNode;
+        private int lastOffset;
+        private int expectedModCount = modCount;
+        private boolean okToRemove = false;
+
+        public boolean hasNext( )
+        {
+            return nextIndex < theSize;
+        }
+
+        @SuppressWarnings("unchecked")
+        public AnyType next( )
+        {
+            if( modCount != expectedModCount )
+                throw new java.util.ConcurrentModificationException( );
+            if( !hasNext( ) )
+                throw new java.util.NoSuchElementException( );
+
+            while( offset >= current.count )
+            {
+                current = current.next;
+                offset = 0;
+            }
+            lastNode = current;
+            lastOffset = offset;
+            nextIndex++;
+            okToRemove = true;
+            return (AnyType) current.items[ offset++ ];
+        }
+
+        public void remove( )
+        {
+            if( modCount != expectedModCount )
+                throw new java.util.ConcurrentModificationException( );
+            if( !okToRemove )
+                throw new IllegalStateException( );
+
+            UnrolledLinkedList.this.remove( lastNode, lastOffset );
+            if( lastNode.count == 0 )
+            {
+                current = lastNode.next;
+                offset = 0;
+            }
+            else
+            {
+                current = lastNode;
+                offset = lastOffset;
+            }
+            nextIndex--;
+            expectedModCount++;
+            okToRemove = false;
+        }
+    }
+
+    /**
+     * This is the doubly-linked list node, holding up to
+     * items.length items in items[ 0 .. count - 1 ].
+     */
+    private static class Node<AnyType>
+    {
+        public Node( int capacity, Node<AnyType> p, Node<AnyType> n )
+        {
+            items = new Object[ capacity ]; prev = p; next = n;
+        }
+
+        public Object [ ] items;
+        public int count;
+        public Node<AnyType>   prev;
+        public Node<AnyType>   next;
+    }
+
+    private static final int DEFAULT_NODE_CAPACITY = 32;
+
+    private final int nodeCapacity;
+    private int theSize;
+    private int modCount = 0;
+    private int foundOffset;     // Offset within the node last returned by getNode
+    private Node<AnyType> beginMarker;
+    private Node<AnyType> endMarker;
+}
+
+class TestUnrolledLinkedList
+{
+    public static void main( String [ ] args )
+    {
+        UnrolledLinkedList<Integer> lst = new UnrolledLinkedList<>( 4 );
+
+        for( int i = 0; i < 10; i++ )
+            lst.add( i );
+        for( int i = 20; i < 30; i++ )
+            lst.add( 0, i );
+
+        System.out.println("Here's the initial list:");
+        System.out.println( lst );
+
+        System.out.println("Here's the reversed list:");
+        System.out.println( lst.reverse( ) );
+
+        lst.swap(3, 5);
+        System.out.println("Here's the list with elements 3 and 5 swapped:");
+        System.out.println( lst );
+
+        lst.remove( 0 );
+        lst.remove( lst.size( ) - 1 );
+        System.out.println("Here's the list with first and last elements removed:");
+        System.out.println( lst );
+
+        System.out.println("Remove the first element until empty:");
+        java.util.Iterator<Integer> itr = lst.iterator( );
+        while( itr.hasNext( ) )
+        {
+            itr.next( );
+            itr.remove( );
+            System.out.println( lst );
+        }
+    }
+}
@@ -1,162 +1,1101 @@
 // BinarySearchTree class
 //
-// CONSTRUCTION: with no initializer
+// CONSTRUCTION: with no initializer, or flags selecting AVL balancing
+//               and incremental statistics, or fromSorted( array )
 //
 // ******************PUBLIC OPERATIONS*********************
 // void insert( x )       --> Insert x
 // void remove( x )       --> Remove x
 // boolean contains( x )  --> Return true if x is present
+// boolean [ ] findAll( keys ), boolean containsAll( keys )
+//                        --> Look up many items in one descent
 // Comparable findMin( )  --> Return smallest item
 // Comparable findMax( )  --> Return largest item
+// Comparable select( k ) --> Return item with k smaller items
+// int rank( x )          --> Return number of items smaller than x
+// Comparable floor( x )  --> Return largest item <= x, or null
+// Comparable lower( x )  --> Return largest item < x, or null
+// Comparable ceiling( x )--> Return smallest item >= x, or null
+// Comparable higher( x ) --> Return smallest item > x, or null
+// Iterator iterator( )   --> Visit items in ascending order
+// Iterator descendingIterator( ) --> Visit items in descending order
+// Iterable range( a, b ) --> Visit items in [ a, b ) in ascending order
+// BinarySearchTree union( t ), intersection( t ), difference( t )
+//                        --> Return new tree combining this and t
+// int size( )            --> Return number of items
+// TreeStats stats( )     --> Return size, height, leaves, etc. in one pass
+// FrozenTree freeze( )   --> Return fast read-only snapshot
 // boolean isEmpty( )     --> Return true if empty; else false
 // void makeEmpty( )      --> Remove all items
 // void printTree( )      --> Print tree in sorted order
+// void levelOrder( v )   --> Visit items level by level, in O(n)
+// void printByLevels( )  --> Print tree one level per line
 // ******************ERRORS********************************
 // Throws UnderflowException as appropriate
 
 import org.omg.CORBA.Any;
 
 /**
- * Implements an unbalanced binary search tree.
+ * Implements a binary search tree, unbalanced by default or kept
+ * height-balanced by AVL rotations if so constructed.
  * Note that all "matching" is based on the compareTo method.
  * @author Mark Allen Weiss
  */
 @SuppressWarnings({"WeakerAccess", "StatementWithEmptyBody"})
-public class BinarySearchTree<AnyType extends Comparable<? super AnyType>>
+public class BinarySearchTree<AnyType extends Comparable<? super AnyType>> implements Iterable<AnyType>
 {
     /**
      * Construct the tree.
      */
     public BinarySearchTree( )
+    {
+        this( false );
+    }
+
+    /**
+     * Construct the tree.
+     * @param balanced true to keep the tree AVL-balanced, so that its
+     * height stays O(log n) whatever the order of insertion.
+     */
+    public BinarySearchTree( boolean balanced )
+    {
+        this( balanced, false );
+    }
+
+    /**
+     * Construct the tree.
+     * @param balanced true to keep the tree AVL-balanced, so that its
+     * height stays O(log n) whatever the order of insertion.
+     * @param trackStats true to have every node also count the leaves,
+     * left children and one-child nodes below it, so that stats( ),
+     * numLeaves( ), numLeftChildren( ) and isFull( ) take O(1).
+     */
+    public BinarySearchTree( boolean balanced, boolean trackStats )
+    {
+        this.balanced = balanced;
+        this.trackStats = trackStats;
+        root = null;
+        path = newPath( pathLength( ) );
+    }
+
+    /**
+     * Insert into the tree; duplicates are ignored.
+     * @param x the item to insert.
+     */
+    public void insert( AnyType x )
+    {
+        int oldSize = size( );
+        root = insert( x, root );
+        if( size( ) != oldSize )
+            modCount++;
+    }
+
+    /**
+     * Remove from the tree. Nothing is done if x is not found.
+     * @param x the item to remove.
+     */
+    public void remove( AnyType x )
+    {
+        int oldSize = size( );
+        root = remove( x, root );
+        trimPath( );
+        if( size( ) != oldSize )
+            modCount++;
+    }
+
+    /**
+     * Find the smallest item in the tree.
+     * @return smallest item or null if empty.
+     */
+    public AnyType findMin( )
+    {
+        if( isEmpty( ) )
+            throw new UnderflowException( );
+        return findMin( root ).element;
+    }
+
+    /**
+     * Find the largest item in the tree.
+     * @return the largest item of null if empty.
+     */
+    public AnyType findMax( )
+    {
+        if( isEmpty( ) )
+            throw new UnderflowException( );
+        return findMax( root ).element;
+    }
+
+    /**
+     * Find an item in the tree.
+     * @param x the item to search for.
+     * @return true if not found.
+     */
+    public boolean contains( AnyType x )
+    {
+        return contains( x, root );
+    }
+
+    /**
+     * Find every item of keys in the tree at once.
+     * The keys are sorted (unless they already are), and then the tree is
+     * descended once for the whole batch: at each node the keys still in
+     * play are split around its item, and each part goes on only into the
+     * matching subtree, so the top levels, which every key would pass
+     * through, are visited once. Once a part is down to a single key, its
+     * search is finished together with up to SEARCH_GROUP - 1 others, a
+     * level of each in turn, so their cache misses overlap instead of
+     * following one another; on a large tree this makes a batch of any
+     * size about twice as fast as calling contains for each key (see
+     * BenchmarkFindAll). The work areas are plain arrays, so nothing is
+     * allocated per node.
+     * @param keys the items to search for, in any order; duplicates are allowed.
+     * @return an array whose entry i is true if keys[ i ] was found.
+     */
+    public boolean [ ] findAll( AnyType [ ] keys )
+    {
+        boolean [ ] found = new boolean[ keys.length ];
+        if( root == null || keys.length == 0 )
+            return found;
+
+        int [ ] order = sortedOrder( keys );
+
+        // Pending subtrees, each with the batch positions low..high that go into it.
+        // Left parts are taken first, so at most one part per level is waiting.
+        BinaryNode<AnyType> [ ] nodes = newPath( height( root ) + 2 );
+        int [ ] lows = new int[ nodes.length ];
+        int [ ] highs = new int[ nodes.length ];
+        int top = 0;
+        nodes[ top ] = root;
+        lows[ top ] = 0;
+        highs[ top++ ] = keys.length;
+
+        // Single-key searches still to finish, run a group at a time
+        BinaryNode<AnyType> [ ] cursors = newPath( SEARCH_GROUP );
+        int [ ] targets = new int[ SEARCH_GROUP ];
+        int pending = 0;
+
+        while( top > 0 )
+        {
+            BinaryNode<AnyType> t = nodes[ --top ];
+            int low = lows[ top ];
+            int high = highs[ top ];
+
+            if( high - low == 1 )
+            {
+                cursors[ pending ] = t;
+                targets[ pending++ ] = keyAt( order, low );
+                if( pending == SEARCH_GROUP )
+                    pending = searchGroup( keys, cursors, targets, pending, found );
+                continue;
+            }
+
+            // keys[ low..less ) < t.element <= keys[ less..high )
+            int less = split( keys, order, low, high, t.element );
+            int more = less;
+            for( ; more < high && keys[ keyAt( order, more ) ].compareTo( t.element ) == 0; more++ )
+                found[ keyAt( order, more ) ] = true;
+
+            if( t.right != null && more < high )
+            {
+                nodes[ top ] = t.right;
+                lows[ top ] = more;
+                highs[ top++ ] = high;
+            }
+            if( t.left != null && low < less )
+            {
+                nodes[ top ] = t.left;
+                lows[ top ] = low;
+                highs[ top++ ] = less;
+            }
+        }
+        searchGroup( keys, cursors, targets, pending, found );
+        return found;
+    }
+
+    private static final int SEARCH_GROUP = 16;
+
+    /**
+     * Internal method to finish count independent searches, for
+     * keys[ targets[ j ] ] from node cursors[ j ], by moving each one down
+     * a level in turn rather than running them one after another. The
+     * searches do not depend on each other, so the processor can wait on
+     * the cache misses of several of them at once.
+     * @return 0, the number of searches left.
+     */
+    private static <AnyType extends Comparable<? super AnyType>> int searchGroup( AnyType [ ] keys, BinaryNode<AnyType> [ ] cursors,
+                                                                                   int [ ] targets, int count, boolean [ ] found )
+    {
+        while( count > 0 )
+        {
+            for( int j = 0; j < count; )
+            {
+                BinaryNode<AnyType> t = cursors[ j ];
+                int compareResult = keys[ targets[ j ] ].compareTo( t.element );
+                BinaryNode<AnyType> next = ( compareResult < 0 ) ? t.left : t.right;
+
+                if( compareResult != 0 && next != null )
+                    cursors[ j++ ] = next;
+                else
+                {
+                    // Done; move the last live search into slot j
+                    found[ targets[ j ] ] = compareResult == 0;
+                    count--;
+                    cursors[ j ] = cursors[ count ];
+                    targets[ j ] = targets[ count ];
+                    cursors[ count ] = null;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Test whether every item of keys is in the tree, with one batched
+     * descent; see findAll.
+     * @param keys the items to search for, in any order.
+     * @return true if all are found.
+     */
+    public boolean containsAll( AnyType [ ] keys )
+    {
+        for( boolean f : findAll( keys ) )
+            if( !f )
+                return false;
+        return true;
+    }
+
+    /**
+     * Internal method to order the keys for findAll.
+     * @return the indexes of keys in ascending order of key,
+     * or null if keys is already sorted.
+     */
+    private static <AnyType extends Comparable<? super AnyType>> int [ ] sortedOrder( AnyType [ ] keys )
+    {
+        for( int i = 1; i < keys.length; i++ )
+            if( keys[ i - 1 ].compareTo( keys[ i ] ) > 0 )
+            {
+                int [ ] order = new int[ keys.length ];
+                for( int j = 0; j < order.length; j++ )
+                    order[ j ] = j;
+                sortIndexes( keys, order, order.clone( ), 0, order.length );
+                return order;
+            }
+        return null;
+    }
+
+    private static final int INSERTION_SORT_CUTOFF = 16;
+
+    /**
+     * Internal method to merge sort order[ low..high ) by the keys they
+     * index, using aux, which starts as a copy of order, as scratch space.
+     */
+    private static <AnyType extends Comparable<? super AnyType>> void sortIndexes( AnyType [ ] keys, int [ ] order, int [ ] aux, int low, int high )
+    {
+        if( high - low <= INSERTION_SORT_CUTOFF )
+        {
+            for( int i = low + 1; i < high; i++ )
+            {
+                int x = order[ i ];
+                int j = i;
+                for( ; j > low && keys[ order[ j - 1 ] ].compareTo( keys[ x ] ) > 0; j-- )
+                    order[ j ] = order[ j - 1 ];
+                order[ j ] = x;
+            }
+            return;
+        }
+
+        // Sort each half of aux into place, then merge them into order
+        int mid = ( low + high ) >>> 1;
+        sortIndexes( keys, aux, order, low, mid );
+        sortIndexes( keys, aux, order, mid, high );
+        for( int i = low, a = low, b = mid; i < high; i++ )
+        {
+            if( b == high || ( a < mid && keys[ aux[ a ] ].compareTo( keys[ aux[ b ] ] ) <= 0 ) )
+                order[ i ] = aux[ a++ ];
+            else
+                order[ i ] = aux[ b++ ];
+        }
+    }
+
+    /**
+     * Internal method to map position i of the sorted batch back to an index of keys.
+     */
+    private static int keyAt( int [ ] order, int i )
+    {
+        return order == null ? i : order[ i ];
+    }
+
+    /**
+     * Internal method to binary search the sorted batch positions low..high
+     * for the first key not less than x.
+     */
+    private static <AnyType extends Comparable<? super AnyType>> int split( AnyType [ ] keys, int [ ] order,
+                                                                             int low, int high, AnyType x )
+    {
+        while( low < high )
+        {
+            int mid = ( low + high ) >>> 1;
+            if( keys[ keyAt( order, mid ) ].compareTo( x ) < 0 )
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Find the item of rank k, that is, the (k+1)-th smallest item.
+     * @param k the number of items smaller than the one wanted.
+     * @return the item with exactly k smaller items in the tree.
+     * @throws IllegalArgumentException if k is not between 0 and size( ) - 1.
+     */
+    public AnyType select( int k )
+    {
+        if( k < 0 || k >= size( ) )
+            throw new IllegalArgumentException( "k: " + k + "; size: " + size( ) );
+
+        BinaryNode<AnyType> t = root;
+        for( ; ; )
+        {
+            int leftSize = size( t.left );
+            if( k < leftSize )
+                t = t.left;
+            else if( k > leftSize )
+            {
+                k -= leftSize + 1;
+                t = t.right;
+            }
+            else
+                return t.element;
+        }
+    }
+
+    /**
+     * Count the items in the tree smaller than x; x need not be present.
+     * @param x the item to rank.
+     * @return the number of items smaller than x.
+     */
+    public int rank( AnyType x )
+    {
+        int r = 0;
+
+        for( BinaryNode<AnyType> t = root; t != null; )
+        {
+            int compareResult = x.compareTo( t.element );
+
+            if( compareResult < 0 )
+                t = t.left;
+            else
+            {
+                r += size( t.left );
+                if( compareResult == 0 )
+                    break;    // Match
+                r++;
+                t = t.right;
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Find the largest item less than or equal to x.
+     * @param x the item to search for.
+     * @return the matching item, or null if there is none.
+     */
+    public AnyType floor( AnyType x )
+    {
+        return below( x, true );
+    }
+
+    /**
+     * Find the largest item strictly less than x.
+     * @param x the item to search for.
+     * @return the matching item, or null if there is none.
+     */
+    public AnyType lower( AnyType x )
+    {
+        return below( x, false );
+    }
+
+    /**
+     * Find the smallest item greater than or equal to x.
+     * @param x the item to search for.
+     * @return the matching item, or null if there is none.
+     */
+    public AnyType ceiling( AnyType x )
+    {
+        return above( x, true );
+    }
+
+    /**
+     * Find the smallest item strictly greater than x.
+     * @param x the item to search for.
+     * @return the matching item, or null if there is none.
+     */
+    public AnyType higher( AnyType x )
+    {
+        return above( x, false );
+    }
+
+    /**
+     * Obtains an Iterator object that visits the items in ascending order.
+     * It holds only the O(height) path to the next item.
+     * @return an iterator positioned prior to the smallest item.
+     */
+    public java.util.Iterator<AnyType> iterator( )
+    {
+        return new TreeIterator( null, null, false );
+    }
+
+    /**
+     * Obtains an Iterator object that visits the items in descending order.
+     * @return an iterator positioned prior to the largest item.
+     */
+    public java.util.Iterator<AnyType> descendingIterator( )
+    {
+        return new TreeIterator( null, null, true );
+    }
+
+    /**
+     * Returns the items from (inclusive) to to (exclusive), in ascending order.
+     * Nothing is copied: each iterator seeks to from in O(height) and then
+     * visits only the items in the range, so a scan costs O(log n + k) in
+     * a balanced tree.
+     * @param from the smallest item to include.
+     * @param to the item at which to stop.
+     * @return an Iterable over the range.
+     */
+    public Iterable<AnyType> range( AnyType from, AnyType to )
+    {
+        return ( ) -> new TreeIterator( from, to, false );
+    }
+
+    /**
+     * Internal method to find the largest item less than x, or equal to it if inclusive.
+     */
+    private AnyType below( AnyType x, boolean inclusive )
+    {
+        AnyType best = null;
+
+        for( BinaryNode<AnyType> t = root; t != null; )
+        {
+            int compareResult = x.compareTo( t.element );
+
+            if( compareResult > 0 || ( inclusive && compareResult == 0 ) )
+            {
+                best = t.element;
+                if( compareResult == 0 )
+                    break;    // Match
+                t = t.right;
+            }
+            else
+                t = t.left;
+        }
+        return best;
+    }
+
+    /**
+     * Internal method to find the smallest item greater than x, or equal to it if inclusive.
+     */
+    private AnyType above( AnyType x, boolean inclusive )
+    {
+        AnyType best = null;
+
+        for( BinaryNode<AnyType> t = root; t != null; )
+        {
+            int compareResult = x.compareTo( t.element );
+
+            if( compareResult < 0 || ( inclusive && compareResult == 0 ) )
+            {
+                best = t.element;
+                if( compareResult == 0 )
+                    break;    // Match
+                t = t.left;
+            }
+            else
+                t = t.right;
+        }
+        return best;
+    }
+
+    /**
+     * This is the implementation of the TreeIterator.
+     * The stack holds the nodes whose items are still to be visited
+     * and whose subtrees on the near side have been visited already;
+     * its top is always the next item.
+     */
+    private class TreeIterator implements java.util.Iterator<AnyType>
+    {
+        /**
+         * @param from the first item to visit (inclusive), or null to start at the end.
+         * @param to the item to stop at (exclusive), or null to run to the end.
+         * @param descending true to visit the items in descending order.
+         */
+        TreeIterator( AnyType from, AnyType to, boolean descending )
+        {
+            this.to = to;
+            this.descending = descending;
+            if( from == null )
+                pushSpine( root );
+            else
+                seek( from, true );
+        }
+
+        /**
+         * Pushes t and its chain of near-side children.
+         */
+        private void pushSpine( BinaryNode<AnyType> t )
+        {
+            for( ; t != null; t = descending ? t.right : t.left )
+                stack.push( t );
+        }
+
+        /**
+         * Rebuilds the stack so that its top is the first item at or past x
+         * (strictly past x unless inclusive) in iteration order.
+         */
+        private void seek( AnyType x, boolean inclusive )
+        {
+            stack.clear( );
+            for( BinaryNode<AnyType> t = root; t != null; )
+            {
+                int compareResult = x.compareTo( t.element );
+                if( descending )
+                    compareResult = -compareResult;
+
+                if( compareResult < 0 || ( inclusive && compareResult == 0 ) )
+                {
+                    stack.push( t );
+                    t = descending ? t.right : t.left;
+                }
+                else
+                    t = descending ? t.left : t.right;
+            }
+        }
+
+        public boolean hasNext( )
+        {
+            return !stack.isEmpty( ) && ( to == null || stack.peek( ).element.compareTo( to ) < 0 );
+        }
+
+        public AnyType next( )
+        {
+            if( modCount != expectedModCount )
+                throw new java.util.ConcurrentModificationException( );
+            if( !hasNext( ) )
+                throw new java.util.NoSuchElementException( );
+
+            BinaryNode<AnyType> t = stack.pop( );
+            pushSpine( descending ? t.left : t.right );
+            last = t.element;
+            okToRemove = true;
+            return last;
+        }
+
+        public void remove( )
+        {
+            if( modCount != expectedModCount )
+                throw new java.util.ConcurrentModificationException( );
+            if( !okToRemove )
+                throw new IllegalStateException( );
+
+            BinarySearchTree.this.remove( last );
+            seek( last, false );    // Removal may have moved items between nodes
+            expectedModCount = modCount;
+            okToRemove = false;
+        }
+
+        private final java.util.ArrayDeque<BinaryNode<AnyType>> stack = new java.util.ArrayDeque<>( );
+        private final AnyType to;
+        private final boolean descending;
+        private int expectedModCount = modCount;
+        private AnyType last;
+        private boolean okToRemove = false;
+    }
+
+    /**
+     * Build an unbalanced-mode tree from items in ascending order, in linear time.
+     * @param items the items to store, sorted in ascending order.
+     * @return a perfectly balanced tree holding the items.
+     * @throws IllegalArgumentException if items is not sorted.
+     */
+    public static <AnyType extends Comparable<? super AnyType>> BinarySearchTree<AnyType> fromSorted( AnyType [ ] items )
+    {
+        return fromSorted( items, false );
+    }
+
+    /**
+     * Build a tree from items in ascending order, in linear time. Each
+     * subtree is rooted at the middle of its range, so the result is as
+     * balanced as possible and also a valid AVL tree. Duplicates are ignored.
+     * @param items the items to store, sorted in ascending order.
+     * @param balanced true to keep the tree AVL-balanced after later changes.
+     * @return a perfectly balanced tree holding the items.
+     * @throws IllegalArgumentException if items is not sorted.
+     */
+    public static <AnyType extends Comparable<? super AnyType>> BinarySearchTree<AnyType> fromSorted( AnyType [ ] items, boolean balanced )
+    {
+        Object [ ] distinct = new Object[ items.length ];
+        int n = 0;
+        for( AnyType x : items )
+        {
+            int compareResult = ( n == 0 ) ? 1 : x.compareTo( elementAt( distinct, n - 1 ) );
+            if( compareResult < 0 )
+                throw new IllegalArgumentException( "Items are not sorted: " + x );
+            if( compareResult > 0 )
+                distinct[ n++ ] = x;
+        }
+
+        BinarySearchTree<AnyType> t = new BinarySearchTree<>( balanced );
+        t.root = t.build( distinct, 0, n - 1 );
+        return t;
+    }
+
+    /**
+     * Returns a new tree holding every item in this tree or in other.
+     * Both trees are read in order and merged in O(n + m), then rebuilt.
+     * @param other the other tree.
+     * @return the union, in the same mode as this tree.
+     */
+    public BinarySearchTree<AnyType> union( BinarySearchTree<AnyType> other )
+    {
+        return merge( other, true, true, true );
+    }
+
+    /**
+     * Returns a new tree holding every item in both this tree and other,
+     * computed in O(n + m).
+     * @param other the other tree.
+     * @return the intersection, in the same mode as this tree.
+     */
+    public BinarySearchTree<AnyType> intersection( BinarySearchTree<AnyType> other )
+    {
+        return merge( other, false, true, false );
+    }
+
+    /**
+     * Returns a new tree holding every item in this tree but not in other,
+     * computed in O(n + m).
+     * @param other the other tree.
+     * @return the difference, in the same mode as this tree.
+     */
+    public BinarySearchTree<AnyType> difference( BinarySearchTree<AnyType> other )
+    {
+        return merge( other, true, false, false );
+    }
+
+    /**
+     * Internal method to merge the sorted contents of this tree and other,
+     * keeping items found only here, in both, or only in other as asked,
+     * and to build a balanced tree of the result.
+     */
+    private BinarySearchTree<AnyType> merge( BinarySearchTree<AnyType> other,
+                                             boolean keepThisOnly, boolean keepBoth, boolean keepOtherOnly )
+    {
+        Object [ ] a = toArray( );
+        Object [ ] b = other.toArray( );
+        Object [ ] out = new Object[ a.length + b.length ];
+        int i = 0, j = 0, n = 0;
+
+        while( i < a.length && j < b.length )
+        {
+            int compareResult = BinarySearchTree.<AnyType>elementAt( a, i ).compareTo( elementAt( b, j ) );
+            if( compareResult < 0 )
+            {
+                if( keepThisOnly )
+                    out[ n++ ] = a[ i ];
+                i++;
+            }
+            else if( compareResult > 0 )
+            {
+                if( keepOtherOnly )
+                    out[ n++ ] = b[ j ];
+                j++;
+            }
+            else
+            {
+                if( keepBoth )
+                    out[ n++ ] = a[ i ];
+                i++;
+                j++;
+            }
+        }
+        for( ; keepThisOnly && i < a.length; i++ )
+            out[ n++ ] = a[ i ];
+        for( ; keepOtherOnly && j < b.length; j++ )
+            out[ n++ ] = b[ j ];
+
+        BinarySearchTree<AnyType> t = new BinarySearchTree<>( balanced, trackStats );
+        t.root = t.build( out, 0, n - 1 );
+        return t;
+    }
+
+    /**
+     * Internal method to copy the items of the tree into an array in sorted order.
+     */
+    private Object [ ] toArray( )
+    {
+        Object [ ] items = new Object[ size( ) ];
+        int n = 0;
+        for( AnyType x : this )
+            items[ n++ ] = x;
+        return items;
+    }
+
+    /**
+     * Internal method to read an item back out of an array built by toArray or fromSorted.
+     */
+    @SuppressWarnings("unchecked")
+    private static <AnyType> AnyType elementAt( Object [ ] items, int i )
+    {
+        return (AnyType) items[ i ];
+    }
+
+    /**
+     * Internal method to build a perfectly balanced subtree from the
+     * sorted items[ low..high ].
+     * @return the root of the subtree.
+     */
+    private BinaryNode<AnyType> build( Object [ ] items, int low, int high )
+    {
+        if( low > high )
+            return null;
+
+        int mid = ( low + high ) >>> 1;
+        BinaryNode<AnyType> t = newNode( BinarySearchTree.<AnyType>elementAt( items, mid ),
+                build( items, low, mid - 1 ), build( items, mid + 1, high ) );
+        update( t );
+        return t;
+    }
+
+    /**
+     * Make the tree logically empty.
+     */
+    public void makeEmpty( )
     {
         root = null;
+        trimPath( );
+        modCount++;
+    }
+
+    /**
+     * Test if the tree is logically empty.
+     * @return true if empty, false otherwise.
+     */
+    public boolean isEmpty( )
+    {
+        return root == null;
+    }
+
+    /**
+     * Print the tree contents in sorted order.
+     */
+    public void printTree( )
+    {
+        if( isEmpty( ) )
+            System.out.println( "Empty tree" );
+        else
+            printTree( root );
+    }
+
+    /**
+     * Internal method to insert into a subtree. The search loop records
+     * the nodes it passes in path, and retrace then restores heights
+     * (and balance) from the new leaf back up, so no recursion is needed.
+     * @param x the item to insert.
+     * @param t the node that roots the subtree.
+     * @return the new root of the subtree.
+     */
+    private BinaryNode<AnyType> insert( AnyType x, BinaryNode<AnyType> t )
+    {
+        int depth = 0;
+        int compareResult = 0;
+
+        for( BinaryNode<AnyType> p = t; p != null; )
+        {
+            compareResult = x.compareTo( p.element );
+            if( compareResult == 0 )
+            {
+                clearPath( depth );
+                return t;  // Duplicate; do nothing
+            }
+            pushPath( depth++, p );
+            p = ( compareResult < 0 ) ? p.left : p.right;
+        }
+
+        BinaryNode<AnyType> newNode = newNode( x, null, null );
+        if( depth == 0 )
+            return newNode;
+
+        if( compareResult < 0 )
+            path[ depth - 1 ].left = newNode;
+        else
+            path[ depth - 1 ].right = newNode;
+        return retrace( depth );
+    }
+
+    /**
+     * Internal method to remove from a subtree, iteratively; see insert.
+     * @param x the item to remove.
+     * @param t the node that roots the subtree.
+     * @return the new root of the subtree.
+     */
+    private BinaryNode<AnyType> remove( AnyType x, BinaryNode<AnyType> t )
+    {
+        int depth = 0;
+        BinaryNode<AnyType> p = t;
+
+        while( p != null )
+        {
+            int compareResult = x.compareTo( p.element );
+            if( compareResult == 0 )
+                break;    // Match
+            pushPath( depth++, p );
+            p = ( compareResult < 0 ) ? p.left : p.right;
+        }
+
+        if( p == null )
+        {
+            clearPath( depth );
+            return t;   // Item not found; do nothing
+        }
+
+        if( p.left != null && p.right != null ) // Two children
+        {
+            pushPath( depth++, p );
+            BinaryNode<AnyType> min = p.right;
+            while( min.left != null )
+            {
+                pushPath( depth++, min );
+                min = min.left;
+            }
+            p.element = min.element;
+            replaceChild( path[ depth - 1 ], min, min.right );
+        }
+        else
+        {
+            BinaryNode<AnyType> child = ( p.left != null ) ? p.left : p.right;
+            if( depth == 0 )
+                return child;
+            replaceChild( path[ depth - 1 ], p, child );
+        }
+        return retrace( depth );
+    }
+
+    /**
+     * Internal method to restore path[ depth - 1 ] up to path[ 0 ] after a
+     * change below them, relinking each rebalanced node into its parent.
+     * @param depth the number of nodes on the path.
+     * @return the new root of the subtree that path[ 0 ] rooted.
+     */
+    private BinaryNode<AnyType> retrace( int depth )
+    {
+        BinaryNode<AnyType> t = null;
+        for( int i = depth - 1; i >= 0; i-- )
+        {
+            BinaryNode<AnyType> node = path[ i ];
+            path[ i ] = null;
+            t = balance( node );
+            if( i > 0 && t != node )
+                replaceChild( path[ i - 1 ], node, t );
+        }
+        return t;
+    }
+
+    /**
+     * Internal method to make newChild take oldChild's place under parent.
+     */
+    private static <AnyType> void replaceChild( BinaryNode<AnyType> parent, BinaryNode<AnyType> oldChild, BinaryNode<AnyType> newChild )
+    {
+        if( parent.left == oldChild )
+            parent.left = newChild;
+        else
+            parent.right = newChild;
+    }
+
+    /**
+     * Internal method to record node t at position depth of the search path.
+     */
+    private void pushPath( int depth, BinaryNode<AnyType> t )
+    {
+        if( depth == path.length )
+            path = java.util.Arrays.copyOf( path, path.length * 2 );
+        path[ depth ] = t;
+    }
+
+    /**
+     * Internal method to drop the first depth entries of the search path.
+     */
+    private void clearPath( int depth )
+    {
+        java.util.Arrays.fill( path, 0, depth, null );
+    }
+
+    /**
+     * Internal method to give back a search path that a long insert or
+     * remove in an unbalanced tree had to grow, once the tree has got
+     * much shorter, so the tree does not keep a degenerate path's worth
+     * of scratch space for good. Only a path over four times what the
+     * tree needs is cut, and only to twice that, so a tree whose height
+     * goes up and down a little does not reallocate on every operation.
+     */
+    private void trimPath( )
+    {
+        int needed = height( root ) + 2;
+        if( path.length > pathLength( ) && path.length > 4 * needed )
+            path = newPath( Math.max( pathLength( ), 2 * needed ) );
+    }
+
+    /**
+     * Internal method to get the usual length of the search path: enough
+     * for any AVL tree, whose height stays under 1.44 log2( n + 2 ), or a
+     * modest default that pushPath can grow when the tree is unbalanced.
+     */
+    private int pathLength( )
+    {
+        return balanced ? MAX_AVL_PATH : DEFAULT_PATH;
     }
 
     /**
-     * Insert into the tree; duplicates are ignored.
-     * @param x the item to insert.
+     * Internal method to create a search path array.
      */
-    public void insert( AnyType x )
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <AnyType> BinaryNode<AnyType> [ ] newPath( int length )
     {
-        root = insert( x, root );
+        return new BinaryNode[ length ];
     }
 
+    private static final int DEFAULT_PATH = 32;
+    private static final int MAX_AVL_PATH = 48;     // Exceeds the height of any AVL tree of int size
+
+    private static final int ALLOWED_IMBALANCE = 1;
+
     /**
-     * Remove from the tree. Nothing is done if x is not found.
-     * @param x the item to remove.
+     * Internal method to restore the stored height and size of t after one of its
+     * subtrees changed, first rotating if the tree is balanced and the
+     * subtree heights now differ by more than ALLOWED_IMBALANCE.
+     * Assume t is either balanced or within one of being balanced.
+     * @param t the node that roots the subtree.
+     * @return the new root of the subtree.
      */
-    public void remove( AnyType x )
+    private BinaryNode<AnyType> balance( BinaryNode<AnyType> t )
     {
-        root = remove( x, root );
+        if( balanced )
+        {
+            if( height( t.left ) - height( t.right ) > ALLOWED_IMBALANCE )
+            {
+                if( height( t.left.left ) >= height( t.left.right ) )
+                    t = rotateWithLeftChild( t );
+                else
+                    t = doubleWithLeftChild( t );
+            }
+            else if( height( t.right ) - height( t.left ) > ALLOWED_IMBALANCE )
+            {
+                if( height( t.right.right ) >= height( t.right.left ) )
+                    t = rotateWithRightChild( t );
+                else
+                    t = doubleWithRightChild( t );
+            }
+        }
+
+        update( t );
+        return t;
     }
 
     /**
-     * Find the smallest item in the tree.
-     * @return smallest item or null if empty.
+     * Internal method to recompute the stored height and size of t from its children.
      */
-    public AnyType findMin( )
+    private void update( BinaryNode<AnyType> t )
     {
-        if( isEmpty( ) )
-            throw new UnderflowException( );
-        return findMin( root ).element;
+        t.height = Math.max( height( t.left ), height( t.right ) ) + 1;
+        t.size = size( t.left ) + size( t.right ) + 1;
+
+        if( trackStats )
+        {
+            StatsNode<AnyType> s = (StatsNode<AnyType>) t;
+            s.leaves = ( t.left == null && t.right == null ) ? 1 : leaves( t.left ) + leaves( t.right );
+            s.leftChildren = ( t.left != null ? 1 : 0 ) + leftChildren( t.left ) + leftChildren( t.right );
+            s.oneChild = ( ( t.left == null ) != ( t.right == null ) ? 1 : 0 ) + oneChild( t.left ) + oneChild( t.right );
+        }
     }
 
     /**
-     * Find the largest item in the tree.
-     * @return the largest item of null if empty.
+     * Internal method to create a node of the kind this tree stores.
      */
-    public AnyType findMax( )
+    private BinaryNode<AnyType> newNode( AnyType x, BinaryNode<AnyType> lt, BinaryNode<AnyType> rt )
     {
-        if( isEmpty( ) )
-            throw new UnderflowException( );
-        return findMax( root ).element;
+        return trackStats ? new StatsNode<>( x, lt, rt ) : new BinaryNode<>( x, lt, rt );
     }
 
     /**
-     * Find an item in the tree.
-     * @param x the item to search for.
-     * @return true if not found.
+     * Return the number of leaves under StatsNode t, or 0, if null.
      */
-    public boolean contains( AnyType x )
+    private static <AnyType> int leaves( BinaryNode<AnyType> t )
     {
-        return contains( x, root );
+        return t == null ? 0 : ( (StatsNode<AnyType>) t ).leaves;
     }
 
     /**
-     * Make the tree logically empty.
+     * Return the number of nodes with a left child under StatsNode t, or 0, if null.
      */
-    public void makeEmpty( )
+    private static <AnyType> int leftChildren( BinaryNode<AnyType> t )
     {
-        root = null;
+        return t == null ? 0 : ( (StatsNode<AnyType>) t ).leftChildren;
     }
 
     /**
-     * Test if the tree is logically empty.
-     * @return true if empty, false otherwise.
+     * Return the number of nodes with exactly one child under StatsNode t, or 0, if null.
      */
-    public boolean isEmpty( )
+    private static <AnyType> int oneChild( BinaryNode<AnyType> t )
     {
-        return root == null;
+        return t == null ? 0 : ( (StatsNode<AnyType>) t ).oneChild;
     }
 
     /**
-     * Print the tree contents in sorted order.
+     * Rotate binary tree node with left child.
+     * Update heights and sizes, then return new root.
      */
-    public void printTree( )
+    private BinaryNode<AnyType> rotateWithLeftChild( BinaryNode<AnyType> k2 )
     {
-        if( isEmpty( ) )
-            System.out.println( "Empty tree" );
-        else
-            printTree( root );
+        BinaryNode<AnyType> k1 = k2.left;
+        k2.left = k1.right;
+        k1.right = k2;
+        update( k2 );
+        update( k1 );
+        return k1;
     }
 
     /**
-     * Internal method to insert into a subtree.
-     * @param x the item to insert.
-     * @param t the node that roots the subtree.
-     * @return the new root of the subtree.
+     * Rotate binary tree node with right child.
+     * Update heights and sizes, then return new root.
      */
-    private BinaryNode<AnyType> insert( AnyType x, BinaryNode<AnyType> t )
+    private BinaryNode<AnyType> rotateWithRightChild( BinaryNode<AnyType> k1 )
     {
-        if( t == null )
-            return new BinaryNode<>( x, null, null );
-        
-        int compareResult = x.compareTo( t.element );
-            
-        if( compareResult < 0 )
-            t.left = insert( x, t.left );
-        else if( compareResult > 0 )
-            t.right = insert( x, t.right );
-        else
-            ;  // Duplicate; do nothing
-        return t;
+        BinaryNode<AnyType> k2 = k1.right;
+        k1.right = k2.left;
+        k2.left = k1;
+        update( k1 );
+        update( k2 );
+        return k2;
     }
 
     /**
-     * Internal method to remove from a subtree.
-     * @param x the item to remove.
-     * @param t the node that roots the subtree.
-     * @return the new root of the subtree.
+     * Double rotate binary tree node: first left child
+     * with its right child; then node k3 with new left child.
      */
-    private BinaryNode<AnyType> remove( AnyType x, BinaryNode<AnyType> t )
+    private BinaryNode<AnyType> doubleWithLeftChild( BinaryNode<AnyType> k3 )
     {
-        if( t == null )
-            return null;   // Item not found; do nothing
-            
-        int compareResult = x.compareTo( t.element );
-            
-        if( compareResult < 0 )
-            t.left = remove( x, t.left );
-        else if( compareResult > 0 )
-            t.right = remove( x, t.right );
-        else if( t.left != null && t.right != null ) // Two children
-        {
-            t.element = findMin( t.right ).element;
-            t.right = remove( t.element, t.right );
-        }
-        else
-            t = ( t.left != null ) ? t.left : t.right;
-        return t;
+        k3.left = rotateWithRightChild( k3.left );
+        return rotateWithLeftChild( k3 );
+    }
+
+    /**
+     * Double rotate binary tree node: first right child
+     * with its left child; then node k1 with new right child.
+     */
+    private BinaryNode<AnyType> doubleWithRightChild( BinaryNode<AnyType> k1 )
+    {
+        k1.right = rotateWithLeftChild( k1.right );
+        return rotateWithRightChild( k1 );
     }
 
     /**
@@ -166,11 +1105,11 @@ public class BinarySearchTree<AnyType extends Comparable<? super AnyType>>
      */
     private BinaryNode<AnyType> findMin( BinaryNode<AnyType> t )
     {
-        if( t == null )
-            return null;
-        else if( t.left == null )
-            return t;
-        return findMin( t.left );
+        if( t != null )
+            while( t.left != null )
+                t = t.left;
+
+        return t;
     }
 
     /**
@@ -195,102 +1134,382 @@ public class BinarySearchTree<AnyType extends Comparable<? super AnyType>>
      */
     private boolean contains( AnyType x, BinaryNode<AnyType> t )
     {
-        if( t == null )
-            return false;
-            
-        int compareResult = x.compareTo( t.element );
-            
-        if( compareResult < 0 )
-            return contains( x, t.left );
-        else if( compareResult > 0 )
-            return contains( x, t.right );
-        else
-            return true;    // Match
+        while( t != null )
+        {
+            int compareResult = x.compareTo( t.element );
+
+            if( compareResult < 0 )
+                t = t.left;
+            else if( compareResult > 0 )
+                t = t.right;
+            else
+                return true;    // Match
+        }
+        return false;
     }
 
     /**
-     * Internal method to print a subtree in sorted order.
+     * Internal method to print a subtree in sorted order,
+     * using an explicit stack of the left spine still to visit.
      * @param t the node that roots the subtree.
      */
     private void printTree( BinaryNode<AnyType> t )
     {
-        if( t != null )
+        java.util.ArrayDeque<BinaryNode<AnyType>> stack = new java.util.ArrayDeque<>( );
+
+        while( t != null || !stack.isEmpty( ) )
         {
-            printTree( t.left );
+            for( ; t != null; t = t.left )
+                stack.push( t );
+            t = stack.pop( );
             System.out.println( t.element );
-            printTree( t.right );
+            t = t.right;
         }
     }
 
     /**
-     * Internal method to compute height of a subtree.
+     * Internal method to get the height of a subtree, which every
+     * node keeps up to date.
      * @param t the node that roots the subtree.
      */
     private int height( BinaryNode<AnyType> t )
     {
-        if( t == null )
-            return -1;
-        else
-            return 1 + Math.max( height( t.left ), height( t.right ) );    
+        return t == null ? -1 : t.height;
     }
 
     /**
-     * returns an int of the number of nodes in the tree.  Use recursion.
+     * returns an int of the number of nodes in a subtree, which every
+     * node keeps up to date.
      * @param t the node that roots the subtree.
      */
     private int size( BinaryNode<AnyType> t )
     {
-        if( t == null ){ return 0; }
-        return 1 + size( t.left ) + size( t.right );
+        return t == null ? 0 : t.size;
     }
     public int size() {return size(this.root);}
 
     /**
-     * Returns the number of nodes that have no children.  Use recursion.
+     * Returns the number of nodes that have no children, visiting them
+     * from an explicit stack.
      * @param t the node that roots the subtree.
      */
     private int numLeaves( BinaryNode<AnyType> t )
     {
-        if( t == null ){ return 0; }
-        else if( t.left == null && t.right == null ){ return 1; }
-        else return numLeaves( t.left ) + numLeaves( t.right );
+        int count = 0;
+        for( java.util.Iterator<BinaryNode<AnyType>> itr = preorder( t ); itr.hasNext( ); )
+        {
+            BinaryNode<AnyType> n = itr.next( );
+            if( n.left == null && n.right == null )
+                count++;
+        }
+        return count;
     }
-    public int numLeaves(){return numLeaves( this.root );}
+    public int numLeaves(){return trackStats ? leaves( this.root ) : numLeaves( this.root );}
 
     /**
-     * Returns the number of nodes that have a left child.  Use recursion.
+     * Returns the number of nodes that have a left child, visiting them
+     * from an explicit stack.
      * @param t the node that roots the subtree.
      */
     private int numLeftChildren( BinaryNode<AnyType> t )
     {
-        if( t == null ){ return 0; }
-        else if ( t.left == null ){return numLeftChildren( t.right ); }
-        else return 1 + numLeftChildren( t.left ) + numLeftChildren( t.right );
+        int count = 0;
+        for( java.util.Iterator<BinaryNode<AnyType>> itr = preorder( t ); itr.hasNext( ); )
+            if( itr.next( ).left != null )
+                count++;
+        return count;
     }
-    public int numLeftChildren(){ return numLeftChildren( this.root ); }
+    public int numLeftChildren(){ return trackStats ? leftChildren( this.root ) : numLeftChildren( this.root ); }
 
     /**
      * Returns true if every node has either two children or no children.
-     * (Assume an empty tree is full.)  Use recursion.
+     * (Assume an empty tree is full.)  Stops at the first node with one child.
      * @param t the node that roots the subtree.
      */
     private boolean isFull ( BinaryNode<AnyType> t )
     {
-        if ( t == null){ return true; }
-        else if ( t.left == null && t.right == null ){ return true; }
-        else if ( t.left != null && t.right != null ) {
-            return isFull(t.left) && isFull(t.right);
+        for( java.util.Iterator<BinaryNode<AnyType>> itr = preorder( t ); itr.hasNext( ); )
+        {
+            BinaryNode<AnyType> n = itr.next( );
+            if( ( n.left == null ) != ( n.right == null ) )
+                return false;
         }
-        else return false;
+        return true;
+    }
+    public boolean isFull(){ return trackStats ? oneChild( this.root ) == 0 : isFull( this.root ); }
+
+    /**
+     * Internal method to visit every node of a subtree in preorder
+     * from an explicit stack, so that deep trees cannot overflow the call stack.
+     * @param t the node that roots the subtree.
+     * @return an iterator over the nodes.
+     */
+    private java.util.Iterator<BinaryNode<AnyType>> preorder( BinaryNode<AnyType> t )
+    {
+        java.util.ArrayDeque<BinaryNode<AnyType>> stack = new java.util.ArrayDeque<>( );
+        if( t != null )
+            stack.push( t );
+
+        return new java.util.Iterator<BinaryNode<AnyType>>( )
+        {
+            public boolean hasNext( )
+            {
+                return !stack.isEmpty( );
+            }
+
+            public BinaryNode<AnyType> next( )
+            {
+                BinaryNode<AnyType> n = stack.pop( );
+                if( n.right != null )
+                    stack.push( n.right );
+                if( n.left != null )
+                    stack.push( n.left );
+                return n;
+            }
+        };
     }
-    public boolean isFull(){ return isFull( this.root ); }
 
     /**
      * Returns true if every level of its height is filled.
      */
     public boolean isPerfect ( )
     {
-        return Math.pow(2, height(this.root)+1)-1 ==size();
+        return isPerfect( size( ), height( this.root ) );
+    }
+
+    /**
+     * Returns true if a tree of the given size and height has every level filled,
+     * that is, if size is 2^(height+1) - 1.
+     */
+    private static boolean isPerfect( int size, int height )
+    {
+        return height < 31 && size == ( 1 << ( height + 1 ) ) - 1;
+    }
+
+    /**
+     * Computes the size, height, number of leaves and of left children,
+     * fullness and perfection of the tree together. Size and height are
+     * stored in the root; the rest takes a single traversal, or none if
+     * the tree was constructed to track statistics.
+     * @return the statistics of the tree.
+     */
+    public TreeStats stats( )
+    {
+        if( trackStats )
+            return new TreeStats( size( ), height( root ), leaves( root ), leftChildren( root ), oneChild( root ) == 0 );
+
+        int leaves = 0;
+        int leftChildren = 0;
+        boolean full = true;
+        for( java.util.Iterator<BinaryNode<AnyType>> itr = preorder( root ); itr.hasNext( ); )
+        {
+            BinaryNode<AnyType> n = itr.next( );
+            if( n.left == null && n.right == null )
+                leaves++;
+            else if( n.left == null || n.right == null )
+                full = false;
+            if( n.left != null )
+                leftChildren++;
+        }
+        return new TreeStats( size( ), height( root ), leaves, leftChildren, full );
+    }
+
+    /**
+     * The statistics reported by stats( ).
+     */
+    public static class TreeStats
+    {
+        TreeStats( int size, int height, int leaves, int leftChildren, boolean full )
+        {
+            this.size         = size;
+            this.height       = height;
+            this.leaves       = leaves;
+            this.leftChildren = leftChildren;
+            this.full         = full;
+            this.perfect      = isPerfect( size, height );
+        }
+
+        public String toString( )
+        {
+            return String.format( "size %d, height %d, leaves %d, left children %d, full %b, perfect %b",
+                    size, height, leaves, leftChildren, full, perfect );
+        }
+
+        public final int size;           // Number of nodes
+        public final int height;         // Height of the tree; -1 if empty
+        public final int leaves;         // Number of nodes with no children
+        public final int leftChildren;   // Number of nodes with a left child
+        public final boolean full;       // True if no node has exactly one child
+        public final boolean perfect;    // True if every level is filled
+    }
+
+    /**
+     * Returns an immutable snapshot of the tree: one array instead of a
+     * node per item, safe to share, unaffected by later changes, and
+     * laid out so that searches run about twice as fast as in the tree
+     * (see FrozenTree and BenchmarkFreeze).
+     * @return the items of the tree in implicit B-tree layout.
+     */
+    public FrozenTree<AnyType> freeze( )
+    {
+        return new FrozenTree<>( toArray( ) );
+    }
+
+    /**
+     * An immutable set of items stored in one array as an implicit B-tree:
+     * block k holds BLOCK_SIZE items in slots k * BLOCK_SIZE onwards, and
+     * its BLOCK_SIZE + 1 children are blocks k * ( BLOCK_SIZE + 1 ) + 1
+     * onwards, so there are no links at all. The array only holds
+     * references, so every comparison still follows one to an item
+     * somewhere in the heap; what makes the search fast is that at each
+     * block it compares x with all the items of the block, one after
+     * another. None of those comparisons waits for another, so their
+     * cache misses overlap, and a search of n items waits for about
+     * log n / log BLOCK_SIZE of them instead of one per level as in the
+     * tree. For int or long keys the FrozenTree of IntBinarySearchTree or
+     * LongBinarySearchTree, which keeps the keys themselves in the array,
+     * is faster still.
+     */
+    public static class FrozenTree<AnyType extends Comparable<? super AnyType>>
+    {
+        /**
+         * @param sorted the items in ascending order, without duplicates.
+         */
+        FrozenTree( Object [ ] sorted )
+        {
+            size = sorted.length;
+            blocks = ( size + BLOCK_SIZE - 1 ) / BLOCK_SIZE;
+            items = new Object[ blocks * BLOCK_SIZE ];
+            fill( sorted, 0, 0 );
+        }
+
+        /**
+         * Copies sorted[ next.. ] into the subtree of block k, in order.
+         * Slots left over at the end stay null and sort after every item.
+         * @return the index of the first item not yet copied.
+         */
+        private int fill( Object [ ] sorted, int next, int k )
+        {
+            if( k < blocks )
+                for( int i = 0; i <= BLOCK_SIZE; i++ )
+                {
+                    next = fill( sorted, next, child( k, i ) );
+                    if( i < BLOCK_SIZE && next < sorted.length )
+                        items[ k * BLOCK_SIZE + i ] = sorted[ next++ ];
+                }
+            return next;
+        }
+
+        private static int child( int k, int i )
+        {
+            return k * ( BLOCK_SIZE + 1 ) + i + 1;
+        }
+
+        /**
+         * Returns the number of items in the snapshot.
+         */
+        public int size( )
+        {
+            return size;
+        }
+
+        public boolean isEmpty( )
+        {
+            return size( ) == 0;
+        }
+
+        /**
+         * Find an item in the snapshot.
+         * @param x the item to search for.
+         * @return true if found.
+         */
+        public boolean contains( AnyType x )
+        {
+            AnyType c = ceiling( x );
+            return c != null && c.compareTo( x ) == 0;
+        }
+
+        /**
+         * Find the largest item less than or equal to x.
+         * @param x the item to search for.
+         * @return the matching item, or null if there is none.
+         */
+        public AnyType floor( AnyType x )
+        {
+            AnyType result = null;
+            for( int k = 0; k < blocks; )
+            {
+                int base = k * BLOCK_SIZE;
+                int n = 0;
+                for( int i = 0; i < BLOCK_SIZE; i++ )
+                {
+                    AnyType item = elementAt( items, base + i );
+                    if( item != null && item.compareTo( x ) <= 0 )
+                        n++;
+                }
+
+                // The answer is the last item passed in the last block that has one
+                if( n > 0 )
+                    result = elementAt( items, base + n - 1 );
+                k = child( k, n );
+            }
+            return result;
+        }
+
+        /**
+         * Find the smallest item greater than or equal to x.
+         * @param x the item to search for.
+         * @return the matching item, or null if there is none.
+         */
+        public AnyType ceiling( AnyType x )
+        {
+            AnyType result = null;
+            for( int k = 0; k < blocks; )
+            {
+                int base = k * BLOCK_SIZE;
+                int n = 0;
+                for( int i = 0; i < BLOCK_SIZE; i++ )
+                {
+                    AnyType item = elementAt( items, base + i );
+                    if( item != null && item.compareTo( x ) < 0 )
+                        n++;
+                }
+
+                // The answer is the first item not passed in the last block that has one
+                if( n < BLOCK_SIZE && items[ base + n ] != null )
+                    result = elementAt( items, base + n );
+                k = child( k, n );
+            }
+            return result;
+        }
+
+        /**
+         * Returns a String representation of the snapshot, in ascending order.
+         */
+        public String toString( )
+        {
+            StringBuilder sb = new StringBuilder( "[ " );
+            appendInOrder( sb, 0 );
+            sb.append( "]" );
+            return new String( sb );
+        }
+
+        private void appendInOrder( StringBuilder sb, int k )
+        {
+            if( k < blocks )
+                for( int i = 0; i <= BLOCK_SIZE; i++ )
+                {
+                    appendInOrder( sb, child( k, i ) );
+                    if( i < BLOCK_SIZE && items[ k * BLOCK_SIZE + i ] != null )
+                        sb.append( items[ k * BLOCK_SIZE + i ] ).append( " " );
+                }
+        }
+
+        private static final int BLOCK_SIZE = 16;
+
+        private final Object [ ] items;    // blocks * BLOCK_SIZE slots, null past the last item
+        private final int blocks;          // Number of blocks
+        private final int size;            // Number of items
     }
 
     /**
@@ -300,50 +1519,93 @@ public class BinarySearchTree<AnyType extends Comparable<? super AnyType>>
      */
     private int depth( AnyType x, BinaryNode<AnyType> t)
     {
-        if( t == null )
-            return -1;
+        int d = 0;
 
-        int compareResult = x.compareTo( t.element );
+        while( t != null )
+        {
+            int compareResult = x.compareTo( t.element );
 
-        if( compareResult < 0 )
-            return 1 + depth( x, t.left );
-        else if( compareResult > 0 )
-            return 1 + depth( x, t.right );
-        else
-            return 1;    // Match
+            if( compareResult < 0 )
+                t = t.left;
+            else if( compareResult > 0 )
+                t = t.right;
+            else
+                return d + 1;    // Match
+            d++;
+        }
+        return d - 1;
     }
     public int depth( AnyType x){ return depth( x, this.root ); }
 
     /**
-     * Print the root, then its children, then their children, etc.
-     * This can be done using a queue.  Enqueue the root, then while the queue
-     * is not empty, dequeue and print, and enqueue its children.
+     * Print the root, then its children, then their children, etc.,
+     * one level per line.
      */
     public void printByLevels( )
     {
-        MyLinkedList<BinaryNode<AnyType>> q = new MyLinkedList<>();
-        if( this.root == null ){ return; }
-        else {
-            q.add(this.root);
-        }
+        levelOrder( new LevelVisitor<AnyType>( )
+        {
+            public void visit( AnyType x, int level )
+            {
+                System.out.print( x );
+                System.out.print( " " );
+            }
+
+            public void endLevel( int level )
+            {
+                System.out.println( );
+            }
+        } );
+    }
+
+    /**
+     * Visit the root, then its children, then their children, etc.
+     * The queue is array-backed, and the end of each level is found by
+     * counting the nodes that were queued when the level began, so the
+     * whole traversal takes O(n).
+     * @param visitor receives every item, then the end of each level.
+     */
+    public void levelOrder( LevelVisitor<? super AnyType> visitor )
+    {
+        java.util.ArrayDeque<BinaryNode<AnyType>> q = new java.util.ArrayDeque<>( );
+        if( this.root != null )
+            q.add( this.root );
 
-        while ( !q.isEmpty() )
+        for( int level = 0; !q.isEmpty( ); level++ )
         {
-            BinaryNode<AnyType> x = q.remove(0);
-            if ( x.left != null ){ q.add( x.left ); }
-            if ( x.right != null ){ q.add( x.right ); }
-            System.out.print( x.element );
-            System.out.print(" ");
-            if(q.size() > 0) {
-                if (depth(x.element) < depth(q.get(0).element)) {
-                    System.out.println();
-                }
+            for( int count = q.size( ); count > 0; count-- )
+            {
+                BinaryNode<AnyType> x = q.poll( );
+                if ( x.left != null ){ q.add( x.left ); }
+                if ( x.right != null ){ q.add( x.right ); }
+                visitor.visit( x.element, level );
             }
+            visitor.endLevel( level );
+        }
+    }
+
+    /**
+     * Receives the items of a tree in level order from levelOrder.
+     */
+    public interface LevelVisitor<AnyType>
+    {
+        /**
+         * Called for each item, left to right within each level.
+         * @param x the item.
+         * @param level its depth; the root is at level 0.
+         */
+        void visit( AnyType x, int level );
+
+        /**
+         * Called after the last item of each level.
+         * @param level the level just finished.
+         */
+        default void endLevel( int level )
+        {
         }
-        System.out.println();
     }
     
-    // Basic node stored in unbalanced binary search trees
+    // Basic node stored in binary search trees
     private static class BinaryNode<AnyType>
     {
             // Constructors
@@ -357,17 +1619,47 @@ public class BinarySearchTree<AnyType extends Comparable<? super AnyType>>
             element  = theElement;
             left     = lt;
             right    = rt;
+            height   = 0;
+            size     = 1;
         }
 
         AnyType element;            // The data in the node
         BinaryNode<AnyType> left;   // Left child
         BinaryNode<AnyType> right;  // Right child
+        int height;                 // Height of the subtree rooted here
+        int size;                   // Number of nodes in the subtree rooted here
+    }
+
+    // Node stored in trees that track statistics; the counts cover its subtree
+    private static class StatsNode<AnyType> extends BinaryNode<AnyType>
+    {
+        StatsNode( AnyType theElement, BinaryNode<AnyType> lt, BinaryNode<AnyType> rt )
+        {
+            super( theElement, lt, rt );
+            leaves = 1;
+        }
+
+        int leaves;                 // Nodes with no children
+        int leftChildren;           // Nodes with a left child
+        int oneChild;               // Nodes with exactly one child
     }
 
 
       /** The tree root. */
     private BinaryNode<AnyType> root;
 
+      /** True if insert and remove keep the tree AVL-balanced. */
+    private final boolean balanced;
+
+      /** True if the nodes are StatsNodes whose counts are kept up to date. */
+    private final boolean trackStats;
+
+      /** Number of insertions and removals, to make iterators fail-fast. */
+    private int modCount = 0;
+
+      /** Nodes passed by the current insert or remove, root first. */
+    private BinaryNode<AnyType> [ ] path;
+
 
         // Test program
     public static void main( String [ ] args )
@@ -378,16 +1670,17 @@ public class BinarySearchTree<AnyType extends Comparable<? super AnyType>>
             public void doit()
             {
                 t.printByLevels();
+                TreeStats stats = t.stats();
                 System.out.print("Tree has this many nodes: ");
-                System.out.println(t.size());
+                System.out.println(stats.size);
                 System.out.print("Tree has this many leaves: ");
-                System.out.println(t.numLeaves());
+                System.out.println(stats.leaves);
                 System.out.print("Tree has this many left children: ");
-                System.out.println(t.numLeftChildren());
+                System.out.println(stats.leftChildren);
                 System.out.print("The tree is full: ");
-                System.out.println(t.isFull());
+                System.out.println(stats.full);
                 System.out.print("The tree is perfect: ");
-                System.out.println(t.isPerfect());
+                System.out.println(stats.perfect);
             }
         }
 
@@ -424,5 +1717,182 @@ public class BinarySearchTree<AnyType extends Comparable<? super AnyType>>
         t.insert(85);
 
         printer.doit();
+
+        BinarySearchTree<Integer> b = new BinarySearchTree<>( true, true );
+        for( int i = 1; i <= 15; i++ )
+            b.insert( i );
+        System.out.println( "Balanced tree after inserting 1 to 15 in order:" );
+        b.printByLevels( );
+        System.out.print( "Statistics of the balanced tree: " );
+        System.out.println( b.stats( ) );
+        System.out.print( "The 4th smallest item is: " );
+        System.out.println( b.select( 3 ) );
+        System.out.print( "The number of items smaller than 11 is: " );
+        System.out.println( b.rank( 11 ) );
+        System.out.print( "Items from 5 up to but not including 10: " );
+        for( Integer x : b.range( 5, 10 ) )
+            System.out.print( x + " " );
+        System.out.println( );
+        System.out.print( "Items in descending order: " );
+        for( java.util.Iterator<Integer> itr = b.descendingIterator( ); itr.hasNext( ); )
+            System.out.print( itr.next( ) + " " );
+        System.out.println( );
+        System.out.println( "Floor, ceiling, lower and higher of 0, 8 and 16:" );
+        for( int x : new int[ ] { 0, 8, 16 } )
+            System.out.println( b.floor( x ) + " " + b.ceiling( x ) + " " + b.lower( x ) + " " + b.higher( x ) );
+
+        BinarySearchTree<Integer> evens = fromSorted( new Integer[ ] { 2, 4, 6, 8, 10, 12, 14 } );
+        System.out.println( "Tree built from sorted evens 2 to 14:" );
+        evens.printByLevels( );
+        System.out.print( "Union with 1 to 15 is perfect: " );
+        System.out.println( b.union( evens ).isPerfect( ) );
+        System.out.println( "Intersection with 1 to 15:" );
+        b.intersection( evens ).printByLevels( );
+        System.out.println( "Difference of 1 to 15 and the evens:" );
+        b.difference( evens ).printByLevels( );
+
+        FrozenTree<Integer> frozen = evens.freeze( );
+        System.out.println( "Frozen evens: " + frozen );
+        System.out.println( "Floor and ceiling of 1, 7 and 15 in the frozen evens:" );
+        for( int x : new int[ ] { 1, 7, 15 } )
+            System.out.println( frozen.floor( x ) + " " + frozen.ceiling( x ) );
+
+        Integer [ ] probes = { 9, 4, 20, 4, 0, 14 };
+        System.out.println( "Evens found among 9 4 20 4 0 14: " + java.util.Arrays.toString( evens.findAll( probes ) ) );
+        System.out.println( "Evens contain 2, 8 and 14: " + evens.containsAll( new Integer[ ] { 2, 8, 14 } ) );
+    }
+}
+
+class BenchmarkFindAll
+{
+    /**
+     * Times findAll against calling contains for every key, on a balanced
+     * tree of a million random Integers, for several batch sizes. Half of
+     * the keys in each batch are in the tree.
+     */
+    public static void main( String [ ] args )
+    {
+        final int NUMS = 1000000;
+        final int LOOKUPS = 2000000;
+        java.util.Random r = new java.util.Random( 1 );
+
+        BinarySearchTree<Integer> t = new BinarySearchTree<>( true );
+        while( t.size( ) < NUMS )
+            t.insert( r.nextInt( ) );
+
+        for( int k : new int[ ] { 10, 100, 500, 5000, 50000 } )
+        {
+            Integer [ ] [ ] batches = new Integer[ LOOKUPS / k ][ k ];
+            for( Integer [ ] batch : batches )
+                for( int i = 0; i < k; i++ )
+                    batch[ i ] = r.nextBoolean( ) ? t.select( r.nextInt( NUMS ) ) : r.nextInt( );
+
+            long containsTime = 0;
+            long findAllTime = 0;
+            for( int round = 0; round < 3; round++ )    // The first two rounds warm up
+            {
+                int hits = 0;
+                long start = System.nanoTime( );
+                for( Integer [ ] batch : batches )
+                    for( Integer x : batch )
+                        if( t.contains( x ) )
+                            hits++;
+                long middle = System.nanoTime( );
+                for( Integer [ ] batch : batches )
+                    for( boolean f : t.findAll( batch ) )
+                        if( f )
+                            hits--;
+                long end = System.nanoTime( );
+
+                if( hits != 0 )
+                    System.out.println( "findAll and contains disagree!" );
+                containsTime = middle - start;
+                findAllTime = end - middle;
+            }
+            System.out.println( "Batches of " + k + ": contains " + containsTime / 1000000 + " ms, findAll "
+                    + findAllTime / 1000000 + " ms for " + LOOKUPS + " lookups" );
+        }
+    }
+}
+
+class BenchmarkFreeze
+{
+    /**
+     * Times contains on a balanced tree of 2^20 random keys against
+     * contains on its frozen snapshot, for BinarySearchTree&lt;Integer&gt;,
+     * IntBinarySearchTree and LongBinarySearchTree. Half of the keys
+     * looked up are in the tree.
+     */
+    public static void main( String [ ] args )
+    {
+        final int NUMS = 1 << 20;
+        final int LOOKUPS = 4000000;
+        java.util.Random r = new java.util.Random( 1 );
+
+        BinarySearchTree<Integer> t = new BinarySearchTree<>( true );
+        IntBinarySearchTree it = new IntBinarySearchTree( true );
+        LongBinarySearchTree lt = new LongBinarySearchTree( true );
+        while( t.size( ) < NUMS )
+        {
+            int x = r.nextInt( );
+            t.insert( x );
+            it.insert( x );
+            lt.insert( x );
+        }
+
+        Integer [ ] keys = new Integer[ LOOKUPS ];
+        for( int i = 0; i < LOOKUPS; i++ )
+            keys[ i ] = r.nextBoolean( ) ? t.select( r.nextInt( NUMS ) ) : r.nextInt( );
+        int [ ] intKeys = new int[ LOOKUPS ];
+        long [ ] longKeys = new long[ LOOKUPS ];
+        for( int i = 0; i < LOOKUPS; i++ )
+            longKeys[ i ] = intKeys[ i ] = keys[ i ];
+
+        BinarySearchTree.FrozenTree<Integer> frozen = t.freeze( );
+        IntBinarySearchTree.FrozenTree intFrozen = it.freeze( );
+        LongBinarySearchTree.FrozenTree longFrozen = lt.freeze( );
+
+        long [ ] times = new long[ 6 ];
+        for( int round = 0; round < 3; round++ )    // The first two rounds warm up
+        {
+            int [ ] hits = new int[ 6 ];
+            long [ ] start = new long[ 7 ];
+            start[ 0 ] = System.nanoTime( );
+            for( Integer x : keys )
+                if( t.contains( x ) )
+                    hits[ 0 ]++;
+            start[ 1 ] = System.nanoTime( );
+            for( Integer x : keys )
+                if( frozen.contains( x ) )
+                    hits[ 1 ]++;
+            start[ 2 ] = System.nanoTime( );
+            for( int x : intKeys )
+                if( it.contains( x ) )
+                    hits[ 2 ]++;
+            start[ 3 ] = System.nanoTime( );
+            for( int x : intKeys )
+                if( intFrozen.contains( x ) )
+                    hits[ 3 ]++;
+            start[ 4 ] = System.nanoTime( );
+            for( long x : longKeys )
+                if( lt.contains( x ) )
+                    hits[ 4 ]++;
+            start[ 5 ] = System.nanoTime( );
+            for( long x : longKeys )
+                if( longFrozen.contains( x ) )
+                    hits[ 5 ]++;
+            start[ 6 ] = System.nanoTime( );
+
+            for( int i = 1; i < hits.length; i++ )
+                if( hits[ i ] != hits[ 0 ] )
+                    System.out.println( "Frozen and live trees disagree!" );
+            for( int i = 0; i < times.length; i++ )
+                times[ i ] = start[ i + 1 ] - start[ i ];
+        }
+
+        String [ ] names = { "BinarySearchTree<Integer>", "IntBinarySearchTree", "LongBinarySearchTree" };
+        for( int i = 0; i < names.length; i++ )
+            System.out.println( names[ i ] + ": tree " + times[ 2 * i ] / 1000000 + " ms, frozen "
+                    + times[ 2 * i + 1 ] / 1000000 + " ms for " + LOOKUPS + " lookups" );
     }
 }
@@ -0,0 +1,499 @@
+// ConcurrentBinarySearchTree class
+//
+// CONSTRUCTION: with no initializer
+//
+// ******************PUBLIC OPERATIONS*********************
+// void insert( x )       --> Insert x
+// void remove( x )       --> Remove x
+// boolean contains( x )  --> Return true if x is present
+// Comparable findMin( )  --> Return smallest item
+// Comparable findMax( )  --> Return largest item
+// Comparable floor( x )  --> Return largest item <= x, or null
+// Comparable ceiling( x )--> Return smallest item >= x, or null
+// Iterator iterator( )   --> Visit items in ascending order
+// Iterable range( a, b ) --> Visit items in [ a, b ) in ascending order
+// int size( )            --> Return number of items
+// boolean isEmpty( )     --> Return true if empty; else false
+// void makeEmpty( )      --> Remove all items
+// void printTree( )      --> Print tree in sorted order
+// ******************ERRORS********************************
+// Throws UnderflowException as appropriate
+
+/**
+ * Implements a thread-safe AVL tree whose readers never block.
+ * Nodes are immutable. A writer copies only the nodes on the path it
+ * changes, shares every other subtree with the old version, and then
+ * publishes the new root with a single volatile write. Readers take
+ * the root once and work on that version undisturbed, so contains,
+ * findMin, findMax and scans need no lock and never see a half-done
+ * update; an iterator sees the tree as it was when it was created.
+ * Writers are serialized by a lock, and each one allocates O(log n) nodes.
+ * Note that all "matching" is based on the compareTo method.
+ */
+@SuppressWarnings("WeakerAccess")
+public class ConcurrentBinarySearchTree<AnyType extends Comparable<? super AnyType>> implements Iterable<AnyType>
+{
+    /**
+     * Construct the tree.
+     */
+    public ConcurrentBinarySearchTree( )
+    {
+        root = null;
+    }
+
+    /**
+     * Insert into the tree; duplicates are ignored.
+     * @param x the item to insert.
+     */
+    public void insert( AnyType x )
+    {
+        synchronized( writeLock )
+        {
+            root = insert( x, root );
+        }
+    }
+
+    /**
+     * Remove from the tree. Nothing is done if x is not found.
+     * @param x the item to remove.
+     */
+    public void remove( AnyType x )
+    {
+        synchronized( writeLock )
+        {
+            root = remove( x, root );
+        }
+    }
+
+    /**
+     * Make the tree logically empty.
+     */
+    public void makeEmpty( )
+    {
+        synchronized( writeLock )
+        {
+            root = null;
+        }
+    }
+
+    /**
+     * Find the smallest item in the tree.
+     * @return smallest item.
+     * @throws UnderflowException if the tree is empty.
+     */
+    public AnyType findMin( )
+    {
+        BinaryNode<AnyType> t = root;
+        if( t == null )
+            throw new UnderflowException( );
+
+        while( t.left != null )
+            t = t.left;
+        return t.element;
+    }
+
+    /**
+     * Find the largest item in the tree.
+     * @return the largest item.
+     * @throws UnderflowException if the tree is empty.
+     */
+    public AnyType findMax( )
+    {
+        BinaryNode<AnyType> t = root;
+        if( t == null )
+            throw new UnderflowException( );
+
+        while( t.right != null )
+            t = t.right;
+        return t.element;
+    }
+
+    /**
+     * Find an item in the tree.
+     * @param x the item to search for.
+     * @return true if found.
+     */
+    public boolean contains( AnyType x )
+    {
+        BinaryNode<AnyType> t = root;
+        while( t != null )
+        {
+            int compareResult = x.compareTo( t.element );
+
+            if( compareResult < 0 )
+                t = t.left;
+            else if( compareResult > 0 )
+                t = t.right;
+            else
+                return true;    // Match
+        }
+        return false;
+    }
+
+    /**
+     * Find the largest item less than or equal to x.
+     * @param x the item to search for.
+     * @return the matching item, or null if there is none.
+     */
+    public AnyType floor( AnyType x )
+    {
+        AnyType best = null;
+
+        for( BinaryNode<AnyType> t = root; t != null; )
+        {
+            int compareResult = x.compareTo( t.element );
+
+            if( compareResult >= 0 )
+            {
+                best = t.element;
+                if( compareResult == 0 )
+                    break;    // Match
+                t = t.right;
+            }
+            else
+                t = t.left;
+        }
+        return best;
+    }
+
+    /**
+     * Find the smallest item greater than or equal to x.
+     * @param x the item to search for.
+     * @return the matching item, or null if there is none.
+     */
+    public AnyType ceiling( AnyType x )
+    {
+        AnyType best = null;
+
+        for( BinaryNode<AnyType> t = root; t != null; )
+        {
+            int compareResult = x.compareTo( t.element );
+
+            if( compareResult <= 0 )
+            {
+                best = t.element;
+                if( compareResult == 0 )
+                    break;    // Match
+                t = t.left;
+            }
+            else
+                t = t.right;
+        }
+        return best;
+    }
+
+    /**
+     * Returns the number of items in the tree.
+     * @return the number of items in the tree.
+     */
+    public int size( )
+    {
+        return size( root );
+    }
+
+    /**
+     * Test if the tree is logically empty.
+     * @return true if empty, false otherwise.
+     */
+    public boolean isEmpty( )
+    {
+        return root == null;
+    }
+
+    /**
+     * Print the tree contents in sorted order.
+     */
+    public void printTree( )
+    {
+        if( isEmpty( ) )
+            System.out.println( "Empty tree" );
+        else
+            for( AnyType x : this )
+                System.out.println( x );
+    }
+
+    /**
+     * Obtains an Iterator object that visits the items in ascending order,
+     * as they were when the iterator was created. It never blocks and
+     * never throws ConcurrentModificationException.
+     * @return an iterator positioned prior to the smallest item.
+     */
+    public java.util.Iterator<AnyType> iterator( )
+    {
+        return new SnapshotIterator( root, null, null );
+    }
+
+    /**
+     * Returns the items from (inclusive) to to (exclusive), in ascending
+     * order. Each iterator works on the version current when it was created.
+     * @param from the smallest item to include.
+     * @param to the item at which to stop.
+     * @return an Iterable over the range.
+     */
+    public Iterable<AnyType> range( AnyType from, AnyType to )
+    {
+        return ( ) -> new SnapshotIterator( root, from, to );
+    }
+
+    /**
+     * This is the implementation of the SnapshotIterator.
+     * The stack holds the nodes whose items are still to be visited
+     * and whose left subtrees have been visited already; its top is
+     * always the next item. Since the nodes never change, nothing
+     * needs checking while it runs.
+     */
+    private class SnapshotIterator implements java.util.Iterator<AnyType>
+    {
+        /**
+         * @param t the root of the version to visit.
+         * @param from the first item to visit (inclusive), or null to start at the smallest.
+         * @param to the item to stop at (exclusive), or null to run to the end.
+         */
+        SnapshotIterator( BinaryNode<AnyType> t, AnyType from, AnyType to )
+        {
+            this.to = to;
+            while( t != null )
+            {
+                if( from == null || from.compareTo( t.element ) <= 0 )
+                {
+                    stack.push( t );
+                    t = t.left;
+                }
+                else
+                    t = t.right;
+            }
+        }
+
+        public boolean hasNext( )
+        {
+            return !stack.isEmpty( ) && ( to == null || stack.peek( ).element.compareTo( to ) < 0 );
+        }
+
+        public AnyType next( )
+        {
+            if( !hasNext( ) )
+                throw new java.util.NoSuchElementException( );
+
+            BinaryNode<AnyType> t = stack.pop( );
+            for( BinaryNode<AnyType> p = t.right; p != null; p = p.left )
+                stack.push( p );
+            return t.element;
+        }
+
+        private final java.util.ArrayDeque<BinaryNode<AnyType>> stack = new java.util.ArrayDeque<>( );
+        private final AnyType to;
+    }
+
+    /**
+     * Internal method to insert into a subtree, copying the path to x.
+     * @param x the item to insert.
+     * @param t the node that roots the subtree.
+     * @return the root of the new version of the subtree, or t if x was present.
+     */
+    private BinaryNode<AnyType> insert( AnyType x, BinaryNode<AnyType> t )
+    {
+        if( t == null )
+            return new BinaryNode<>( x, null, null );
+
+        int compareResult = x.compareTo( t.element );
+
+        if( compareResult < 0 )
+        {
+            BinaryNode<AnyType> lt = insert( x, t.left );
+            return lt == t.left ? t : balance( lt, t.element, t.right );
+        }
+        else if( compareResult > 0 )
+        {
+            BinaryNode<AnyType> rt = insert( x, t.right );
+            return rt == t.right ? t : balance( t.left, t.element, rt );
+        }
+        else
+            return t;  // Duplicate; do nothing
+    }
+
+    /**
+     * Internal method to remove from a subtree, copying the path to x.
+     * @param x the item to remove.
+     * @param t the node that roots the subtree.
+     * @return the root of the new version of the subtree, or t if x was absent.
+     */
+    private BinaryNode<AnyType> remove( AnyType x, BinaryNode<AnyType> t )
+    {
+        if( t == null )
+            return t;   // Item not found; do nothing
+
+        int compareResult = x.compareTo( t.element );
+
+        if( compareResult < 0 )
+        {
+            BinaryNode<AnyType> lt = remove( x, t.left );
+            return lt == t.left ? t : balance( lt, t.element, t.right );
+        }
+        else if( compareResult > 0 )
+        {
+            BinaryNode<AnyType> rt = remove( x, t.right );
+            return rt == t.right ? t : balance( t.left, t.element, rt );
+        }
+        else if( t.left != null && t.right != null ) // Two children
+        {
+            BinaryNode<AnyType> min = t.right;
+            while( min.left != null )
+                min = min.left;
+            return balance( t.left, min.element, removeMin( t.right ) );
+        }
+        else
+            return ( t.left != null ) ? t.left : t.right;
+    }
+
+    /**
+     * Internal method to remove the smallest item from a non-empty subtree.
+     * @return the root of the new version of the subtree.
+     */
+    private BinaryNode<AnyType> removeMin( BinaryNode<AnyType> t )
+    {
+        if( t.left == null )
+            return t.right;
+        return balance( removeMin( t.left ), t.element, t.right );
+    }
+
+    private static final int ALLOWED_IMBALANCE = 1;
+
+    /**
+     * Internal method to build a new node for element over lt and rt,
+     * rotating if their heights differ by more than ALLOWED_IMBALANCE.
+     * Assume the result is within one rotation of being balanced.
+     * @return the root of the new subtree.
+     */
+    private BinaryNode<AnyType> balance( BinaryNode<AnyType> lt, AnyType element, BinaryNode<AnyType> rt )
+    {
+        if( height( lt ) - height( rt ) > ALLOWED_IMBALANCE )
+        {
+            if( height( lt.left ) >= height( lt.right ) )
+                return new BinaryNode<>( lt.element, lt.left, new BinaryNode<>( element, lt.right, rt ) );
+            else
+                return new BinaryNode<>( lt.right.element,
+                        new BinaryNode<>( lt.element, lt.left, lt.right.left ),
+                        new BinaryNode<>( element, lt.right.right, rt ) );
+        }
+        else if( height( rt ) - height( lt ) > ALLOWED_IMBALANCE )
+        {
+            if( height( rt.right ) >= height( rt.left ) )
+                return new BinaryNode<>( rt.element, new BinaryNode<>( element, lt, rt.left ), rt.right );
+            else
+                return new BinaryNode<>( rt.left.element,
+                        new BinaryNode<>( element, lt, rt.left.left ),
+                        new BinaryNode<>( rt.element, rt.left.right, rt.right ) );
+        }
+        return new BinaryNode<>( element, lt, rt );
+    }
+
+    /**
+     * Return the height of node t, or -1, if null.
+     */
+    private static <AnyType> int height( BinaryNode<AnyType> t )
+    {
+        return t == null ? -1 : t.height;
+    }
+
+    /**
+     * Return the number of nodes in subtree t, or 0, if null.
+     */
+    private static <AnyType> int size( BinaryNode<AnyType> t )
+    {
+        return t == null ? 0 : t.size;
+    }
+
+    // Immutable node; a writer that needs a change makes a new one
+    private static final class BinaryNode<AnyType>
+    {
+        BinaryNode( AnyType theElement, BinaryNode<AnyType> lt, BinaryNode<AnyType> rt )
+        {
+            element  = theElement;
+            left     = lt;
+            right    = rt;
+            height   = Math.max( height( lt ), height( rt ) ) + 1;
+            size     = size( lt ) + size( rt ) + 1;
+        }
+
+        final AnyType element;            // The data in the node
+        final BinaryNode<AnyType> left;   // Left child
+        final BinaryNode<AnyType> right;  // Right child
+        final int height;                 // Height of the subtree
+        final int size;                   // Number of nodes in the subtree
+    }
+
+    /** The current version of the tree; written only under writeLock. */
+    private volatile BinaryNode<AnyType> root;
+
+    /** Serializes writers. */
+    private final Object writeLock = new Object( );
+
+
+        // Test program
+    public static void main( String [ ] args ) throws InterruptedException
+    {
+        final int readers = 8;
+        final int writers = 2;
+        final int NUMS = 20000;
+
+        ConcurrentBinarySearchTree<Integer> t = new ConcurrentBinarySearchTree<>( );
+        for( int i = 0; i < NUMS; i += 2 )
+            t.insert( i );
+
+        // Writers toggle the odd items; readers check that the evens are always there
+        java.util.concurrent.atomic.AtomicLong lookups = new java.util.concurrent.atomic.AtomicLong( );
+        java.util.concurrent.atomic.AtomicBoolean failed = new java.util.concurrent.atomic.AtomicBoolean( );
+        java.util.concurrent.atomic.AtomicBoolean done = new java.util.concurrent.atomic.AtomicBoolean( );
+
+        Thread [ ] threads = new Thread[ readers + writers ];
+        for( int i = 0; i < writers; i++ )
+        {
+            final int id = i;
+            threads[ i ] = new Thread( ( ) -> {
+                for( int round = 0; round < 5; round++ )
+                    for( int j = 1 + 2 * id; j < NUMS; j += 2 * writers )
+                    {
+                        t.insert( j );
+                        t.remove( j );
+                    }
+            } );
+        }
+        for( int i = writers; i < threads.length; i++ )
+            threads[ i ] = new Thread( ( ) -> {
+                java.util.Random r = new java.util.Random( );
+                while( !done.get( ) )
+                {
+                    int x = 2 * r.nextInt( NUMS / 2 );
+                    if( !t.contains( x ) || t.findMin( ) != 0 || t.findMax( ) < NUMS - 2 )
+                        failed.set( true );
+                    lookups.incrementAndGet( );
+                }
+            } );
+
+        for( Thread th : threads )
+            th.start( );
+        for( int i = 0; i < writers; i++ )
+            threads[ i ].join( );
+        done.set( true );
+        for( int i = writers; i < threads.length; i++ )
+            threads[ i ].join( );
+
+        System.out.println( "Readers saw a consistent tree: " + !failed.get( ) + " (" + lookups.get( ) + " lookups)" );
+        System.out.println( "Size after writers finished: " + t.size( ) + " (expected " + NUMS / 2 + ")" );
+
+        ConcurrentBinarySearchTree<Integer> small = new ConcurrentBinarySearchTree<>( );
+        for( int i = 1; i <= 15; i++ )
+            small.insert( i );
+        System.out.print( "Items from 5 up to but not including 10: " );
+        for( Integer x : small.range( 5, 10 ) )
+            System.out.print( x + " " );
+        System.out.println( );
+
+        java.util.Iterator<Integer> itr = small.iterator( );
+        small.makeEmpty( );
+        System.out.print( "An iterator made before makeEmpty still sees: " );
+        while( itr.hasNext( ) )
+            System.out.print( itr.next( ) + " " );
+        System.out.println( );
+    }
+}
@@ -0,0 +1,747 @@
+// IntBinarySearchTree class
+//
+// CONSTRUCTION: with no initializer, or a flag selecting AVL balancing
+//
+// ******************PUBLIC OPERATIONS*********************
+// void insert( x )       --> Insert x
+// void remove( x )       --> Remove x
+// boolean contains( x )  --> Return true if x is present
+// int findMin( )         --> Return smallest item
+// int findMax( )         --> Return largest item
+// int select( k )        --> Return item with k smaller items
+// int rank( x )          --> Return number of items smaller than x
+// int [ ] toArray( )     --> Return the items in ascending order
+// void forEachInt( a )   --> Apply a to the items in ascending order
+// FrozenTree freeze( )   --> Return read-only snapshot for fast searches
+// int size( )            --> Return number of items
+// boolean isEmpty( )     --> Return true if empty; else false
+// void makeEmpty( )      --> Remove all items
+// void printTree( )      --> Print tree in sorted order
+// ******************ERRORS********************************
+// Throws UnderflowException as appropriate
+
+import java.util.function.IntConsumer;
+
+/**
+ * Implements a binary search tree of int keys, unbalanced by default or
+ * kept height-balanced by AVL rotations if so constructed.
+ * It works like BinarySearchTree<Integer>, but the nodes live in parallel
+ * arrays and are linked by slot number, so there is no node object and no
+ * boxed key, and every comparison is a plain &lt; on int values.
+ * Slot NIL (0) stands for the empty subtree; its height is -1 and its
+ * size 0, so children never need a null check. Removed slots go onto a
+ * free list, chained through left[ ], and are reused by later inserts.
+ */
+@SuppressWarnings("WeakerAccess")
+public class IntBinarySearchTree
+{
+    /**
+     * Construct the tree.
+     */
+    public IntBinarySearchTree( )
+    {
+        this( false );
+    }
+
+    /**
+     * Construct the tree.
+     * @param balanced true to keep the tree AVL-balanced, so that its
+     * height stays O(log n) whatever the order of insertion.
+     */
+    public IntBinarySearchTree( boolean balanced )
+    {
+        this.balanced = balanced;
+        key = new int[ DEFAULT_CAPACITY ];
+        left = new int[ DEFAULT_CAPACITY ];
+        right = new int[ DEFAULT_CAPACITY ];
+        height = new int[ DEFAULT_CAPACITY ];
+        size = new int[ DEFAULT_CAPACITY ];
+        path = new int[ pathLength( ) ];
+        makeEmpty( );
+    }
+
+    /**
+     * Insert into the tree; duplicates are ignored.
+     * @param x the item to insert.
+     */
+    public void insert( int x )
+    {
+        root = insert( x, root );
+    }
+
+    /**
+     * Remove from the tree. Nothing is done if x is not found.
+     * @param x the item to remove.
+     */
+    public void remove( int x )
+    {
+        root = remove( x, root );
+        trimPath( );
+    }
+
+    /**
+     * Find the smallest item in the tree.
+     * @return smallest item.
+     * @throws UnderflowException if the tree is empty.
+     */
+    public int findMin( )
+    {
+        if( isEmpty( ) )
+            throw new UnderflowException( );
+
+        int t = root;
+        while( left[ t ] != NIL )
+            t = left[ t ];
+        return key[ t ];
+    }
+
+    /**
+     * Find the largest item in the tree.
+     * @return the largest item.
+     * @throws UnderflowException if the tree is empty.
+     */
+    public int findMax( )
+    {
+        if( isEmpty( ) )
+            throw new UnderflowException( );
+
+        int t = root;
+        while( right[ t ] != NIL )
+            t = right[ t ];
+        return key[ t ];
+    }
+
+    /**
+     * Find an item in the tree.
+     * @param x the item to search for.
+     * @return true if found.
+     */
+    public boolean contains( int x )
+    {
+        int t = root;
+        while( t != NIL )
+        {
+            int k = key[ t ];
+
+            if( x < k )
+                t = left[ t ];
+            else if( x > k )
+                t = right[ t ];
+            else
+                return true;    // Match
+        }
+        return false;
+    }
+
+    /**
+     * Find the item of rank k, that is, the (k+1)-th smallest item.
+     * @param k the number of items smaller than the one wanted.
+     * @return the item with exactly k smaller items in the tree.
+     * @throws IllegalArgumentException if k is not between 0 and size( ) - 1.
+     */
+    public int select( int k )
+    {
+        if( k < 0 || k >= size( ) )
+            throw new IllegalArgumentException( "k: " + k + "; size: " + size( ) );
+
+        int t = root;
+        for( ; ; )
+        {
+            int leftSize = size[ left[ t ] ];
+            if( k < leftSize )
+                t = left[ t ];
+            else if( k > leftSize )
+            {
+                k -= leftSize + 1;
+                t = right[ t ];
+            }
+            else
+                return key[ t ];
+        }
+    }
+
+    /**
+     * Count the items in the tree smaller than x; x need not be present.
+     * @param x the item to rank.
+     * @return the number of items smaller than x.
+     */
+    public int rank( int x )
+    {
+        int r = 0;
+
+        for( int t = root; t != NIL; )
+        {
+            int k = key[ t ];
+
+            if( x < k )
+                t = left[ t ];
+            else
+            {
+                r += size[ left[ t ] ];
+                if( x == k )
+                    break;    // Match
+                r++;
+                t = right[ t ];
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Returns the items of the tree in ascending order.
+     * @return a new array of size( ) items.
+     */
+    public int [ ] toArray( )
+    {
+        int [ ] items = new int[ size( ) ];
+        int [ ] i = { 0 };
+        forEachInt( x -> items[ i[ 0 ]++ ] = x );
+        return items;
+    }
+
+    /**
+     * Applies action to every item, in ascending order, without boxing.
+     * @param action the action to apply.
+     */
+    public void forEachInt( IntConsumer action )
+    {
+        int [ ] stack = new int[ height[ root ] + 1 ];
+        int top = 0;
+        int t = root;
+
+        while( t != NIL || top > 0 )
+        {
+            for( ; t != NIL; t = left[ t ] )
+                stack[ top++ ] = t;
+            t = stack[ --top ];
+            action.accept( key[ t ] );
+            t = right[ t ];
+        }
+    }
+
+    /**
+     * Returns an immutable snapshot of the tree for read-mostly use.
+     * Later changes to the tree do not affect the snapshot.
+     * @return the items of the tree in Eytzinger layout.
+     */
+    public FrozenTree freeze( )
+    {
+        return new FrozenTree( toArray( ) );
+    }
+
+    /**
+     * An immutable set of int items stored in one array in Eytzinger
+     * (breadth-first) order: the root of a perfectly balanced tree is in
+     * slot 1 and the children of slot k are in slots 2k and 2k + 1. The
+     * keys themselves sit in the array, so the first levels of every
+     * search stay in cache and a search touches one cache line per level
+     * at most, with no links to follow and no branch on the direction
+     * taken; it runs several times faster than contains on the tree (see
+     * BenchmarkFreeze).
+     */
+    public static class FrozenTree
+    {
+        /**
+         * @param sorted the items in ascending order, without duplicates.
+         */
+        FrozenTree( int [ ] sorted )
+        {
+            items = new int[ sorted.length + 1 ];
+            fill( sorted, 0, 1 );
+        }
+
+        /**
+         * Copies sorted[ next.. ] into the subtree of slot k, in order.
+         * @return the index of the first item not yet copied.
+         */
+        private int fill( int [ ] sorted, int next, int k )
+        {
+            if( k < items.length )
+            {
+                next = fill( sorted, next, 2 * k );
+                items[ k ] = sorted[ next++ ];
+                next = fill( sorted, next, 2 * k + 1 );
+            }
+            return next;
+        }
+
+        /**
+         * Returns the number of items in the snapshot.
+         */
+        public int size( )
+        {
+            return items.length - 1;
+        }
+
+        public boolean isEmpty( )
+        {
+            return size( ) == 0;
+        }
+
+        /**
+         * Find an item in the snapshot.
+         * @param x the item to search for.
+         * @return true if found.
+         */
+        public boolean contains( int x )
+        {
+            int k = ceilingSlot( x );
+            return k != 0 && items[ k ] == x;
+        }
+
+        /**
+         * Find the largest item less than or equal to x.
+         * @param x the item to search for.
+         * @return the matching item.
+         * @throws java.util.NoSuchElementException if every item is greater than x.
+         */
+        public int floor( int x )
+        {
+            int k = 1;
+            while( k < items.length )
+                k = 2 * k + ( items[ k ] <= x ? 1 : 0 );
+
+            // The answer is the last node where the search turned right
+            k >>>= Integer.numberOfTrailingZeros( k ) + 1;
+            if( k == 0 )
+                throw new java.util.NoSuchElementException( "No item <= " + x );
+            return items[ k ];
+        }
+
+        /**
+         * Find the smallest item greater than or equal to x.
+         * @param x the item to search for.
+         * @return the matching item.
+         * @throws java.util.NoSuchElementException if every item is less than x.
+         */
+        public int ceiling( int x )
+        {
+            int k = ceilingSlot( x );
+            if( k == 0 )
+                throw new java.util.NoSuchElementException( "No item >= " + x );
+            return items[ k ];
+        }
+
+        /**
+         * Returns the slot of the smallest item greater than or equal to x, or 0.
+         */
+        private int ceilingSlot( int x )
+        {
+            int k = 1;
+            while( k < items.length )
+                k = 2 * k + ( items[ k ] < x ? 1 : 0 );
+
+            // The answer is the last node where the search turned left
+            return k >>> ( Integer.numberOfTrailingZeros( ~k ) + 1 );
+        }
+
+        /**
+         * Returns a String representation of the snapshot, in ascending order.
+         */
+        public String toString( )
+        {
+            StringBuilder sb = new StringBuilder( "[ " );
+            appendInOrder( sb, 1 );
+            sb.append( "]" );
+            return new String( sb );
+        }
+
+        private void appendInOrder( StringBuilder sb, int k )
+        {
+            if( k < items.length )
+            {
+                appendInOrder( sb, 2 * k );
+                sb.append( items[ k ] ).append( " " );
+                appendInOrder( sb, 2 * k + 1 );
+            }
+        }
+
+        private final int [ ] items;    // items[ 0 ] is unused
+    }
+
+    /**
+     * Make the tree logically empty.
+     * The slot arrays are kept for reuse.
+     */
+    public void makeEmpty( )
+    {
+        height[ NIL ] = -1;
+        size[ NIL ] = 0;
+        root = NIL;
+
+        freeList = NIL;
+        for( int s = key.length - 1; s > NIL; s-- )
+            freeSlot( s );
+        trimPath( );
+    }
+
+    /**
+     * Test if the tree is logically empty.
+     * @return true if empty, false otherwise.
+     */
+    public boolean isEmpty( )
+    {
+        return root == NIL;
+    }
+
+    /**
+     * Returns the number of items in the tree.
+     * @return the number of items in the tree.
+     */
+    public int size( )
+    {
+        return size[ root ];
+    }
+
+    /**
+     * Print the tree contents in sorted order.
+     */
+    public void printTree( )
+    {
+        if( isEmpty( ) )
+            System.out.println( "Empty tree" );
+        else
+            forEachInt( System.out::println );
+    }
+
+    /**
+     * Internal method to insert into a subtree. The search loop records
+     * the slots it passes in path, and retrace then restores heights
+     * (and balance) from the new leaf back up, so no recursion is needed.
+     * @param x the item to insert.
+     * @param t the slot that roots the subtree.
+     * @return the new root of the subtree.
+     */
+    private int insert( int x, int t )
+    {
+        int depth = 0;
+        boolean goLeft = false;
+
+        for( int p = t; p != NIL; )
+        {
+            int k = key[ p ];
+            if( x == k )
+                return t;  // Duplicate; do nothing
+            pushPath( depth++, p );
+            goLeft = x < k;
+            p = goLeft ? left[ p ] : right[ p ];
+        }
+
+        int newNode = allocateSlot( );
+        key[ newNode ] = x;
+        left[ newNode ] = right[ newNode ] = NIL;
+        height[ newNode ] = 0;
+        size[ newNode ] = 1;
+        if( depth == 0 )
+            return newNode;
+
+        if( goLeft )
+            left[ path[ depth - 1 ] ] = newNode;
+        else
+            right[ path[ depth - 1 ] ] = newNode;
+        return retrace( depth );
+    }
+
+    /**
+     * Internal method to remove from a subtree, iteratively; see insert.
+     * @param x the item to remove.
+     * @param t the slot that roots the subtree.
+     * @return the new root of the subtree.
+     */
+    private int remove( int x, int t )
+    {
+        int depth = 0;
+        int p = t;
+
+        while( p != NIL )
+        {
+            int k = key[ p ];
+            if( x == k )
+                break;    // Match
+            pushPath( depth++, p );
+            p = ( x < k ) ? left[ p ] : right[ p ];
+        }
+
+        if( p == NIL )
+            return t;   // Item not found; do nothing
+
+        if( left[ p ] != NIL && right[ p ] != NIL ) // Two children
+        {
+            pushPath( depth++, p );
+            int min = right[ p ];
+            while( left[ min ] != NIL )
+            {
+                pushPath( depth++, min );
+                min = left[ min ];
+            }
+            key[ p ] = key[ min ];
+            replaceChild( path[ depth - 1 ], min, right[ min ] );
+            freeSlot( min );
+        }
+        else
+        {
+            int child = ( left[ p ] != NIL ) ? left[ p ] : right[ p ];
+            freeSlot( p );
+            if( depth == 0 )
+                return child;
+            replaceChild( path[ depth - 1 ], p, child );
+        }
+        return retrace( depth );
+    }
+
+    /**
+     * Internal method to restore path[ depth - 1 ] up to path[ 0 ] after a
+     * change below them, relinking each rebalanced slot into its parent.
+     * @param depth the number of slots on the path.
+     * @return the new root of the subtree that path[ 0 ] rooted.
+     */
+    private int retrace( int depth )
+    {
+        int t = NIL;
+        for( int i = depth - 1; i >= 0; i-- )
+        {
+            int node = path[ i ];
+            t = balance( node );
+            if( i > 0 && t != node )
+                replaceChild( path[ i - 1 ], node, t );
+        }
+        return t;
+    }
+
+    /**
+     * Internal method to make newChild take oldChild's place under parent.
+     */
+    private void replaceChild( int parent, int oldChild, int newChild )
+    {
+        if( left[ parent ] == oldChild )
+            left[ parent ] = newChild;
+        else
+            right[ parent ] = newChild;
+    }
+
+    /**
+     * Internal method to record slot t at position depth of the search path.
+     */
+    private void pushPath( int depth, int t )
+    {
+        if( depth == path.length )
+            path = java.util.Arrays.copyOf( path, path.length * 2 );
+        path[ depth ] = t;
+    }
+
+    /**
+     * Internal method to give back a search path that a long insert or
+     * remove in an unbalanced tree had to grow, once the tree has got
+     * much shorter, with the same policy as BinarySearchTree: only a path
+     * over four times what the tree needs is cut, and only to twice that.
+     */
+    private void trimPath( )
+    {
+        int needed = height[ root ] + 2;
+        if( path.length > pathLength( ) && path.length > 4 * needed )
+            path = new int[ Math.max( pathLength( ), 2 * needed ) ];
+    }
+
+    /**
+     * Internal method to get the usual length of the search path: enough
+     * for any AVL tree, or a modest default that pushPath can grow when
+     * the tree is unbalanced.
+     */
+    private int pathLength( )
+    {
+        return balanced ? MAX_AVL_PATH : DEFAULT_PATH;
+    }
+
+    private static final int DEFAULT_PATH = 32;
+    private static final int MAX_AVL_PATH = 48;     // Exceeds the height of any AVL tree of int size
+
+    private static final int ALLOWED_IMBALANCE = 1;
+
+    /**
+     * Internal method to restore the stored height and size of t after one of its
+     * subtrees changed, first rotating if the tree is balanced and the
+     * subtree heights now differ by more than ALLOWED_IMBALANCE.
+     * Assume t is either balanced or within one of being balanced.
+     * @param t the slot that roots the subtree.
+     * @return the new root of the subtree.
+     */
+    private int balance( int t )
+    {
+        if( balanced )
+        {
+            int lt = left[ t ];
+            int rt = right[ t ];
+
+            if( height[ lt ] - height[ rt ] > ALLOWED_IMBALANCE )
+            {
+                if( height[ left[ lt ] ] >= height[ right[ lt ] ] )
+                    t = rotateWithLeftChild( t );
+                else
+                    t = doubleWithLeftChild( t );
+            }
+            else if( height[ rt ] - height[ lt ] > ALLOWED_IMBALANCE )
+            {
+                if( height[ right[ rt ] ] >= height[ left[ rt ] ] )
+                    t = rotateWithRightChild( t );
+                else
+                    t = doubleWithRightChild( t );
+            }
+        }
+
+        update( t );
+        return t;
+    }
+
+    /**
+     * Internal method to recompute the stored height and size of t from its children.
+     */
+    private void update( int t )
+    {
+        height[ t ] = Math.max( height[ left[ t ] ], height[ right[ t ] ] ) + 1;
+        size[ t ] = size[ left[ t ] ] + size[ right[ t ] ] + 1;
+    }
+
+    /**
+     * Rotate binary tree node with left child.
+     * Update heights and sizes, then return new root.
+     */
+    private int rotateWithLeftChild( int k2 )
+    {
+        int k1 = left[ k2 ];
+        left[ k2 ] = right[ k1 ];
+        right[ k1 ] = k2;
+        update( k2 );
+        update( k1 );
+        return k1;
+    }
+
+    /**
+     * Rotate binary tree node with right child.
+     * Update heights and sizes, then return new root.
+     */
+    private int rotateWithRightChild( int k1 )
+    {
+        int k2 = right[ k1 ];
+        right[ k1 ] = left[ k2 ];
+        left[ k2 ] = k1;
+        update( k1 );
+        update( k2 );
+        return k2;
+    }
+
+    /**
+     * Double rotate binary tree node: first left child
+     * with its right child; then node k3 with new left child.
+     */
+    private int doubleWithLeftChild( int k3 )
+    {
+        left[ k3 ] = rotateWithRightChild( left[ k3 ] );
+        return rotateWithLeftChild( k3 );
+    }
+
+    /**
+     * Double rotate binary tree node: first right child
+     * with its left child; then node k1 with new right child.
+     */
+    private int doubleWithRightChild( int k1 )
+    {
+        right[ k1 ] = rotateWithLeftChild( right[ k1 ] );
+        return rotateWithRightChild( k1 );
+    }
+
+    /**
+     * Takes a slot off the free list, doubling the arrays if it is empty.
+     * @return an unused slot.
+     */
+    private int allocateSlot( )
+    {
+        if( freeList == NIL )
+        {
+            int oldLength = key.length;
+            int newLength = oldLength * 2;
+            key = java.util.Arrays.copyOf( key, newLength );
+            left = java.util.Arrays.copyOf( left, newLength );
+            right = java.util.Arrays.copyOf( right, newLength );
+            height = java.util.Arrays.copyOf( height, newLength );
+            size = java.util.Arrays.copyOf( size, newLength );
+            for( int s = newLength - 1; s >= oldLength; s-- )
+                freeSlot( s );
+        }
+
+        int s = freeList;
+        freeList = left[ s ];
+        return s;
+    }
+
+    /**
+     * Puts slot s on the free list, chained through left[ ].
+     */
+    private void freeSlot( int s )
+    {
+        left[ s ] = freeList;
+        freeList = s;
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int NIL = 0;    // Slot of the empty subtree, and end of the free list
+
+    /** The slot of the tree root, or NIL. */
+    private int root;
+
+    /** True if the tree is kept AVL-balanced. */
+    private final boolean balanced;
+
+    /** The node in each slot: its key, children, height and subtree size. */
+    private int [ ] key;
+    private int [ ] left;
+    private int [ ] right;
+    private int [ ] height;
+    private int [ ] size;
+
+    /** First free slot, or NIL. */
+    private int freeList;
+
+    /** Scratch stack of the slots on the current search path. */
+    private int [ ] path;
+
+
+        // Test program
+    public static void main( String [ ] args )
+    {
+        IntBinarySearchTree t = new IntBinarySearchTree( true );
+        final int NUMS = 4000;
+        final int GAP  =   37;
+
+        System.out.println( "Checking... (no more output means success)" );
+
+        for( int i = GAP; i != 0; i = ( i + GAP ) % NUMS )
+            t.insert( i );
+
+        for( int i = 1; i < NUMS; i+= 2 )
+            t.remove( i );
+
+        if( t.findMin( ) != 2 || t.findMax( ) != NUMS - 2 )
+            System.out.println( "FindMin or FindMax error!" );
+
+        for( int i = 2; i < NUMS; i+=2 )
+             if( !t.contains( i ) || t.select( i / 2 - 1 ) != i || t.rank( i ) != i / 2 - 1 )
+                 System.out.println( "Find error1!" );
+
+        for( int i = 1; i < NUMS; i+=2 )
+        {
+            if( t.contains( i ) )
+                System.out.println( "Find error2!" );
+        }
+
+        IntBinarySearchTree small = new IntBinarySearchTree( true );
+        for( int i = 1; i <= 15; i++ )
+            small.insert( i );
+        System.out.println( "Balanced tree after inserting 1 to 15 in order:" );
+        System.out.println( java.util.Arrays.toString( small.toArray( ) ) );
+        System.out.println( "Size: " + small.size( ) + ", median: " + small.select( small.size( ) / 2 ) );
+
+        FrozenTree frozen = small.freeze( );
+        System.out.println( "Frozen copy: " + frozen );
+        System.out.println( "Contains 7 and 16: " + frozen.contains( 7 ) + " " + frozen.contains( 16 ) );
+    }
+}
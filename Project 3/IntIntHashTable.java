@@ -0,0 +1,268 @@
+/**
+ * A hash table from int keys to int values, with the operations of
+ * LinearProbingHashTable but no boxing: keys, values and slot states live
+ * in flat arrays, so insert allocates nothing except when the table grows,
+ * and find, delete and getLocation allocate nothing at all. The table
+ * length is a power of two and a key's home slot is picked by Fibonacci
+ * hashing. Deleting shifts the following entries back instead of leaving
+ * a deleted marker, so lookups never walk past dead slots.
+ */
+public class IntIntHashTable {
+    /**
+     * Construct the hash table
+     */
+    public IntIntHashTable( ) {
+        this( DEFAULT_TABLE_SIZE );
+    }
+
+    /**
+     * Construct the hash table.
+     * @param size the approximate initial size
+     */
+    public IntIntHashTable( int size ) {
+        this( size, 0 );
+    }
+
+    /**
+     * Construct the hash table.
+     * @param size the approximate initial size
+     * @param missingValue the value find returns for a key that is not present
+     */
+    public IntIntHashTable( int size, int missingValue ) {
+        this.missingValue = missingValue;
+        allocateTable( size );
+        makeEmpty();
+    }
+
+    /**
+     * Make the hash table logically empty
+     */
+    public void makeEmpty( ) {
+        currentSize = 0;
+        java.util.Arrays.fill( occupied, false );
+    }
+
+    /**
+     * @return the number of keys in the table
+     */
+    public int size( ) {
+        return currentSize;
+    }
+
+    public boolean isEmpty( ) {
+        return currentSize == 0;
+    }
+
+    /**
+     * inserts entry, rehashes if half full, returns true if inserted,
+     * false if duplicate.
+     * @param key the key to insert
+     * @param value the value to insert
+     * @return true if inserted, false if duplicate
+     * @throws IllegalStateException if the table is at its maximum size and full
+     */
+    public boolean insert(int key, int value) {
+        int currentPos = findPos( key );
+        if( occupied[ currentPos ] )
+            return false;
+        if( keys.length == MAXIMUM_CAPACITY && currentSize == keys.length - 1 )
+            throw new IllegalStateException( "Hash table is full" );
+
+        keys[ currentPos ] = key;
+        values[ currentPos ] = value;
+        occupied[ currentPos ] = true;
+        currentSize++;
+
+        if( currentSize > keys.length /2 && keys.length < MAXIMUM_CAPACITY )
+            rehash( );
+
+        return true;
+    }
+
+    /**
+     * Find an item in the hash table.
+     * @param key the item to search for
+     * @return value for key, or the missing value if not found
+     */
+    public int find( int key ) {
+        int currentPos = findPos( key );
+        if( occupied[ currentPos ] )
+            return values[ currentPos ];
+        else
+            return missingValue;
+    }
+
+    /**
+     * @param key
+     * @return true if key is in the table
+     */
+    public boolean contains( int key ) {
+        return occupied[ findPos( key ) ];
+    }
+
+    /**
+     * removes the entry and moves back any following entries that would
+     * no longer be reachable from their home slots
+     * @param key
+     * @return true if deleted, false if not found
+     */
+    public boolean delete(int key) {
+        int currentPos = findPos( key );
+        if( !occupied[ currentPos ] )
+            return false;
+
+        int nextPos = currentPos;
+        for( ; ; ) {
+            nextPos = ( nextPos + 1 ) & ( keys.length - 1 );
+            if( !occupied[ nextPos ] )
+                break;
+
+            // An entry whose home slot is cyclically in ( currentPos, nextPos ]
+            // is still reachable; any other must fill the hole
+            int home = myhash( keys[ nextPos ] );
+            if( ( ( nextPos - home ) & ( keys.length - 1 ) ) >= ( ( nextPos - currentPos ) & ( keys.length - 1 ) ) ) {
+                keys[ currentPos ] = keys[ nextPos ];
+                values[ currentPos ] = values[ nextPos ];
+                currentPos = nextPos;
+            }
+        }
+        occupied[ currentPos ] = false;
+        currentSize--;
+        return true;
+    }
+
+    /**
+     * @param key
+     * @return the hash value for the given key. (this is the value before probing occurs)
+     */
+    public int getHashValue(int key) {
+        return myhash( key );
+    }
+
+    /**
+     * @param key
+     * @return returns the location for the given key, or -1 if not found.
+     */
+    public int getLocation(int key) {
+        int currentPos = findPos( key );
+        if( !occupied[ currentPos ] )
+            return -1;
+        return currentPos;
+    }
+
+    /**
+     * @return a formatted string of the hash table,
+     *           where key, value is the key and value at this location:
+     *                0  key, value
+     *                1
+     *                ...
+     */
+    public String toString() {
+        StringBuilder t = new StringBuilder();
+        for( int i = 0; i < keys.length; i++ ) {
+            if( !occupied[ i ] )
+                t.append(String.format("%d%n", i));
+            else
+                t.append(String.format("%d  %s,  %s  %n", i, keys[ i ], values[ i ]));
+        }
+        return t.toString();
+    }
+
+    private static final int DEFAULT_TABLE_SIZE = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;    // 2^32 / phi, odd
+
+    private int [ ] keys;          // The key in each slot
+    private int [ ] values;      // The value in each slot
+    private boolean [ ] occupied;   // True if the slot holds an entry
+    private int currentSize;        // Current size
+    private int shift;              // 32 - log2( keys.length )
+    private final int missingValue;   // Returned by find for absent keys
+
+    /**
+     * Internal method to allocate table.
+     * @param tableSize the size of the table, rounded up to a power of two.
+     */
+    private void allocateTable( int tableSize ) {
+        int length = ( tableSize >= MAXIMUM_CAPACITY ) ? MAXIMUM_CAPACITY
+                : Math.max( 2, Integer.highestOneBit( tableSize - 1 ) << 1 );
+        shift = 32 - Integer.numberOfTrailingZeros( length );
+        keys = new int[ length ];
+        values = new int[ length ];
+        occupied = new boolean[ length ];
+    }
+
+    /**
+     * @return the slot holding key, or the empty slot where it would go.
+     */
+    private int findPos( int key ) {
+        int currentPos = myhash( key );
+
+        while ( occupied[ currentPos ] && keys[ currentPos ] != key )
+            currentPos = ( currentPos + 1 ) & ( keys.length - 1 );
+        return currentPos;
+    }
+
+    /**
+     * doubles the table size, hashes everything to the new table.
+     * Only called below MAXIMUM_CAPACITY, so the doubling cannot overflow.
+     */
+    private void rehash( ){
+        int [ ] oldKeys = keys;
+        int [ ] oldValues = values;
+        boolean [ ] oldOccupied = occupied;
+
+        allocateTable( oldKeys.length << 1 );
+        currentSize = 0;
+
+        for( int i = 0; i < oldKeys.length; i++ )
+            if( oldOccupied[ i ] )
+                insert( oldKeys[ i ], oldValues[ i ] );
+    }
+
+    /**
+     * Fibonacci hashing: the multiply carries every bit of the key into
+     * the top bits, which then index the table.
+     */
+    private int myhash( int x ) {
+        return ( x * GOLDEN_RATIO ) >>> shift;
+    }
+
+    /**
+     * demonstrate each of the methods
+     * @param args
+     */
+    public static void main(String args[]) {
+        IntIntHashTable H = new IntIntHashTable( 8, -1 );
+        H.insert(1001, 10);
+        H.insert(1002, 20);
+        System.out.print("Trying insertion of \"1003, 30\": ");
+        System.out.println(H.insert(1003, 30));
+        System.out.print("Trying insertion of \"1003, 12\": ");
+        System.out.println(H.insert(1003, 12));
+        System.out.println("Printing table: ");
+        System.out.println(H);
+        System.out.print("Trying deletion of non-existent key, 7: ");
+        System.out.println(H.delete(7));
+        System.out.print("Trying deletion of 1002: ");
+        System.out.println(H.delete(1002));
+        System.out.print("Trying to find value of 1002: ");
+        System.out.println(H.find(1002));
+        System.out.print("Trying to find value of 1003: ");
+        System.out.println(H.find(1003));
+        System.out.print("Hash value of 1003: ");
+        System.out.println(H.getHashValue(1003));
+        System.out.print("Location of 1003: ");
+        System.out.println(H.getLocation(1003));
+        System.out.println();
+
+        System.out.println("Inserting lots of values, then deleting the even keys:");
+        for( int i = 0; i < 30; i++)
+            H.insert(i, i * i);
+        for( int i = 0; i < 30; i += 2)
+            H.delete(i);
+        System.out.println("Printing new table: ");
+        System.out.println(H);
+        System.out.println("Size: " + H.size());
+    }
+}
@@ -1,6 +1,15 @@
 import java.io.Serializable;
 
 /**
+ * A hash table with open addressing. Entries are not objects: slot i is
+ * keys[ i ], values[ i ] and state[ i ] in three parallel arrays, so
+ * insert allocates nothing. For an entry, state[ i ] also records how
+ * many slots it sits past its home slot, so that can be read without
+ * hashing the key again, and a probe calls equals only on entries at the
+ * same distance from home as the probe itself, the only ones that can
+ * share the key's home slot; the others are passed by reading the
+ * contiguous state array alone. Deleted entries keep no distance and are
+ * still compared.
  * @param <K> Any type of object to use as key
  * @param <V> Any type of object to use as value
  */
@@ -17,6 +26,34 @@ public class LinearProbingHashTable<K,V> {
      * @param size the approximate initial size
      */
     public LinearProbingHashTable( int size ) {
+        this( size, false );
+    }
+
+    /**
+     * Construct the hash table.
+     * @param size the approximate initial size
+     * @param powerOfTwo true to keep the table length a power of two, so that
+     *                   a slot is picked by mixing the bits of hashCode( ) and
+     *                   keeping the top ones, instead of dividing by a prime
+     */
+    public LinearProbingHashTable( int size, boolean powerOfTwo ) {
+        this( size, powerOfTwo, false );
+    }
+
+    /**
+     * Construct the hash table.
+     * @param size the approximate initial size
+     * @param powerOfTwo true to keep the table length a power of two
+     * @param robinHood true to use Robin Hood probing: an entry being inserted
+     *                  takes the slot of any entry that is closer to its home
+     *                  slot, so probe lengths stay even and a search can stop
+     *                  as soon as it passes where the key would have been put;
+     *                  delete shifts the following entries back instead of
+     *                  leaving a deleted entry behind
+     */
+    public LinearProbingHashTable( int size, boolean powerOfTwo, boolean robinHood ) {
+        this.powerOfTwo = powerOfTwo;
+        this.robinHood = robinHood;
         allocateTable( size );
         makeEmpty();
     }
@@ -27,25 +64,9 @@ public class LinearProbingHashTable<K,V> {
     public void makeEmpty( ) {
         currentSize = 0;
         occupied = 0;
-        for( int i = 0; i < table.length; i++ )
-            table[ i ] = null;
-    }
-
-
-
-    private static class Entry<K,V>{
-        public K key;
-        public V value;
-        public boolean isActive;
-
-        public Entry( K key, V value ) {
-            this(key, value, true );
-        }
-
-        public Entry( K k, V v, boolean i ) {
-            key = k; value = v; isActive = i;
-        }
-
+        java.util.Arrays.fill( keys, null );
+        java.util.Arrays.fill( values, null );
+        java.util.Arrays.fill( state, EMPTY );
     }
 
     /**
@@ -54,20 +75,28 @@ public class LinearProbingHashTable<K,V> {
      * @param key the key to insert
      * @param value the value to insert
      * @return true if inserted, false if duplicate
+     * @throws IllegalStateException if the table is at its maximum size and full
      */
     public boolean insert(K key, V value) {
         if( key == null )
             throw new IllegalArgumentException("Key is null!");
-        int currentPos = findPos( key );
+        if( robinHood )
+            return robinHoodInsert( key, value );
+        int home = myhash( key );
+        int currentPos = findPos( key, home );
         if( isActive( currentPos ))
             return false;
+        if( state[ currentPos ] == EMPTY && isFull( ) )
+            throw new IllegalStateException( "Hash table is full" );
 
-        if( table[ currentPos ] == null )
+        if( state[ currentPos ] == EMPTY )
             ++occupied;
-        table[ currentPos ] = new Entry<>( key, value );
+        keys[ currentPos ] = key;
+        values[ currentPos ] = value;
+        state[ currentPos ] = activeState( probeDistance( home, currentPos ));
         currentSize++;
 
-        if( occupied > table.length /2 )
+        if( needsRehash( ) )
             rehash( );
 
         return true;
@@ -79,25 +108,25 @@ public class LinearProbingHashTable<K,V> {
      * @return value for key, or null if not found
      */
     public V find( K key ) {
-        int currentPos = findPos( key );
-        Entry<K, V> entry = table [ currentPos ];
-        while( entry != null && entry.key != key)
-            entry = table [ ++currentPos ];
-        if( entry == null )
+        int currentPos = getLocation( key );
+        if( currentPos < 0 || !isActive( currentPos ))
             return null;
         else
-            return entry.value;
+            return valueAt( currentPos );
     }
 
     /**
-     * marks the entry deleted but leaves it there
+     * marks the entry deleted but leaves it there, or in Robin Hood mode
+     * removes it and shifts the entries after it back one slot
      * @param key
      * @return true if deleted, false if not found
      */
     public boolean delete(K key) {
+        if( robinHood )
+            return robinHoodDelete( key );
         int currentPos = findPos( key );
         if( isActive( currentPos )) {
-            table[ currentPos ].isActive = false;
+            state[ currentPos ] = DELETED;
             currentSize--;
             return true;
         }
@@ -123,33 +152,52 @@ public class LinearProbingHashTable<K,V> {
      */
     public String toString() {
         StringBuilder t = new StringBuilder();
-        int i = 0;
-        for( Entry<K, V> entry : table) {
-            if( entry == null )
+        for( int i = 0; i < state.length; i++ ) {
+            if( state[ i ] == EMPTY )
                 t.append(String.format("%d%n", i));
-            else if( entry.isActive )
+            else if( isActive( i ))
                 t.append(String.format("%d  %s,  %s  %n",
-                        i, entry.key.toString(), entry.value.toString()));
+                        i, keys[ i ].toString(), values[ i ].toString()));
             else
                 t.append(String.format("%d  %s,  %s  %s%n",
-                        i, entry.key.toString(), entry.value.toString(), "deleted"));
-            i++;
+                        i, keys[ i ].toString(), values[ i ].toString(), "deleted"));
         }
         return t.toString();
     }
 
     private static final int DEFAULT_TABLE_SIZE = 11;
+    private static final int MAXIMUM_POWER_OF_TWO = 1 << 30;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;    // 2^32 / phi, odd
+
+    private static final byte EMPTY = 0;      // Slot never used
+    private static final byte DELETED = 1;    // Slot holds a deleted entry
+    private static final int ACTIVE = 2;      // Slot holds an entry ACTIVE + d slots past its home
+    private static final int MAX_DISTANCE = 253;  // Larger distances are stored as this
 
-    private Entry<K, V> [ ] table;  // The table of elements
+    private Object [ ] keys;        // The key in each slot
+    private Object [ ] values;      // The value in each slot
+    private byte [ ] state;         // EMPTY, DELETED, or ACTIVE plus distance, for each slot
     private int occupied;           // The number of occupied cells
     private int currentSize;        // Current size
+    private final boolean powerOfTwo;   // True if state.length is a power of two
+    private final boolean robinHood;    // True to use Robin Hood probing
+    private int shift;              // 32 - log2( state.length ), if powerOfTwo
 
     /**
      * Internal method to allocate table.
      * @param tableSize the size of the table.
      */
     private void allocateTable( int tableSize ) {
-        table = new Entry[ nextPrime( tableSize )];
+        int length;
+        if( powerOfTwo ) {
+            length = nextPowerOfTwo( tableSize );
+            shift = 32 - Integer.numberOfTrailingZeros( length );
+        }
+        else
+            length = nextPrime( tableSize );
+        keys = new Object[ length ];
+        values = new Object[ length ];
+        state = new byte[ length ];
     }
 
     /**
@@ -158,7 +206,34 @@ public class LinearProbingHashTable<K,V> {
      * @return true if currentPos is active.
      */
     private boolean isActive( int currentPos ) {
-        return table[ currentPos ] != null && table[ currentPos ].isActive;
+        return ( state[ currentPos ] & 0xFF ) >= ACTIVE;
+    }
+
+    /**
+     * @return the state of a slot holding an entry dist slots past its home.
+     */
+    private static byte activeState( int dist ) {
+        return (byte) ( ACTIVE + Math.min( dist, MAX_DISTANCE ));
+    }
+
+    /**
+     * @return how many slots currentPos is past home, going round the end.
+     */
+    private int probeDistance( int home, int currentPos ) {
+        int dist = currentPos - home;
+        if( dist < 0 )
+            dist += state.length;
+        return dist;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt( int currentPos ) {
+        return (K) keys[ currentPos ];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt( int currentPos ) {
+        return (V) values[ currentPos ];
     }
 
     /**
@@ -166,45 +241,189 @@ public class LinearProbingHashTable<K,V> {
      * @return returns the location for the given key, or -1 if not found.
      */
     public int getLocation(K key) {
-        int currentPos = myhash( key );
+        if( robinHood )
+            return robinHoodFind( key );
+        int currentPos = findPos( key );
 
-        while ( table[ currentPos ] != null &&
-                !table[ currentPos ].key.equals( key )) {
-            currentPos++;
-            if( currentPos >= table.length )
-                currentPos -= table.length;
-        }
-        if( table[ currentPos ] == null )
+        if( state[ currentPos ] == EMPTY )
             return -1;
         return currentPos;
     }
 
     private int findPos( K key ) {
+        return findPos( key, myhash( key ));
+    }
+
+    /**
+     * Linear probe from home. An equal key has the same home slot, so an
+     * entry stored at a different distance from its home than this probe
+     * is from home cannot be key, and is passed without calling equals.
+     * @return the slot holding key, active or deleted, or the empty slot
+     * where the probe ended.
+     */
+    private int findPos( K key, int home ) {
+        int currentPos = home;
+        int dist = 0;
+
+        for( ; ; ) {
+            int s = state[ currentPos ] & 0xFF;
+            if( s == EMPTY )
+                return currentPos;
+            if( ( s == DELETED || s == ACTIVE + dist ) && keys[ currentPos ].equals( key ))
+                return currentPos;
+            currentPos++;
+            if( currentPos >= state.length )
+                currentPos -= state.length;
+            if( dist < MAX_DISTANCE )
+                dist++;
+        }
+    }
+
+    /**
+     * Robin Hood insert: keeps the entries along each probe sequence in
+     * order of distance from their home slots, taking the slot of the
+     * first entry that is closer to home than the one being placed and
+     * carrying that entry on instead.
+     */
+    private boolean robinHoodInsert( K key, V value ) {
+        if( robinHoodFind( key ) >= 0 )
+            return false;
+        if( isFull( ) )
+            throw new IllegalStateException( "Hash table is full" );
+
+        Object k = key;
+        Object v = value;
+        int currentPos = myhash( key );
+        int dist = 0;
+        while( state[ currentPos ] != EMPTY ) {
+            int residentDist = distance( currentPos );
+            if( residentDist < dist ) {
+                Object residentKey = keys[ currentPos ];
+                Object residentValue = values[ currentPos ];
+                keys[ currentPos ] = k;
+                values[ currentPos ] = v;
+                state[ currentPos ] = activeState( dist );
+                k = residentKey;
+                v = residentValue;
+                dist = residentDist;
+            }
+            currentPos++;
+            if( currentPos >= state.length )
+                currentPos -= state.length;
+            dist++;
+        }
+        keys[ currentPos ] = k;
+        values[ currentPos ] = v;
+        state[ currentPos ] = activeState( dist );
+        ++occupied;
+        currentSize++;
+
+        if( needsRehash( ) )
+            rehash( );
+
+        return true;
+    }
+
+    /**
+     * Robin Hood search: gives up once it reaches an entry that is closer to
+     * its home slot than key would be, since key would have displaced it.
+     * @return the location of key, or -1 if not found.
+     */
+    private int robinHoodFind( K key ) {
         int currentPos = myhash( key );
 
-        while ( table[ currentPos ] != null &&
-                !table[ currentPos ].key.equals( key )) {
+        for( int dist = 0; state[ currentPos ] != EMPTY && distance( currentPos ) >= dist; dist++ ) {
+            if( keys[ currentPos ].equals( key ))
+                return currentPos;
             currentPos++;
-            if( currentPos >= table.length )
-                currentPos -= table.length;
+            if( currentPos >= state.length )
+                currentPos -= state.length;
         }
-        return currentPos;
+        return -1;
+    }
+
+    /**
+     * Robin Hood delete: moves each following entry that is not in its home
+     * slot back by one, up to the first empty slot or entry at home, so no
+     * deleted entry is left behind and occupied goes down again.
+     */
+    private boolean robinHoodDelete( K key ) {
+        int currentPos = robinHoodFind( key );
+        if( currentPos < 0 )
+            return false;
+
+        int nextPos = currentPos + 1;
+        if( nextPos >= state.length )
+            nextPos -= state.length;
+        while( state[ nextPos ] != EMPTY && distance( nextPos ) > 0 ) {
+            keys[ currentPos ] = keys[ nextPos ];
+            values[ currentPos ] = values[ nextPos ];
+            state[ currentPos ] = activeState( distance( nextPos ) - 1 );
+            currentPos = nextPos;
+            nextPos++;
+            if( nextPos >= state.length )
+                nextPos -= state.length;
+        }
+        keys[ currentPos ] = null;
+        values[ currentPos ] = null;
+        state[ currentPos ] = EMPTY;
+        occupied--;
+        currentSize--;
+        return true;
+    }
+
+    /**
+     * @return how many slots the entry at currentPos is past its home slot,
+     *         read from its state; only a distance too large to store there
+     *         is worked out by hashing the key again.
+     */
+    private int distance( int currentPos ) {
+        int dist = ( state[ currentPos ] & 0xFF ) - ACTIVE;
+        if( dist < MAX_DISTANCE )
+            return dist;
+        return probeDistance( myhash( keyAt( currentPos )), currentPos );
+    }
+
+    /**
+     * @return true if the table is more than half occupied and can either
+     * grow, or, at its maximum size, reclaim a quarter of it from deleted
+     * entries.
+     */
+    private boolean needsRehash( ) {
+        if( occupied <= state.length / 2 )
+            return false;
+        return state.length < MAXIMUM_POWER_OF_TWO || occupied - currentSize > state.length / 4;
     }
 
     /**
-     * doubles the table size, hashes everything to the new table, omitting
-     * items marked deleted
+     * @return true if the table is at its maximum size and one more entry
+     * would leave no empty slot to end a probe.
      */
+    private boolean isFull( ) {
+        return state.length >= MAXIMUM_POWER_OF_TWO && occupied == state.length - 1;
+    }
+
+    /**
+     * doubles the table size, up to about MAXIMUM_POWER_OF_TWO, hashes
+     * everything to the new table, omitting items marked deleted. At the
+     * maximum size the table is rebuilt at the same size instead.
+     */
+    @SuppressWarnings("unchecked")
     private void rehash( ){
-        Entry<K, V> [ ] oldTable = table;
+        Object [ ] oldKeys = keys;
+        Object [ ] oldValues = values;
+        byte [ ] oldState = state;
 
-        allocateTable( 2 * oldTable.length );
+        if( oldState.length < MAXIMUM_POWER_OF_TWO )
+            allocateTable( Math.min( oldState.length, MAXIMUM_POWER_OF_TWO / 2 ) * 2 );
+        else
+            allocateTable( oldState.length );
         occupied = 0;
         currentSize = 0;
 
-        for( Entry<K, V> entry : oldTable )
-            if( entry != null && entry.isActive )
-                insert( entry.key, entry.value );
+        for( int i = 0; i < oldState.length; i++ )
+            if( ( oldState[ i ] & 0xFF ) >= ACTIVE )
+                insert( (K) oldKeys[ i ], (V) oldValues[ i ] );
 
     }
 
@@ -212,9 +431,14 @@ public class LinearProbingHashTable<K,V> {
 
         int hashVal = x.hashCode();
 
-        hashVal %= table.length;
+        // Fibonacci hashing: the multiply carries every bit of the hash
+        // into the top bits, which then index the table
+        if( powerOfTwo )
+            return ( hashVal * GOLDEN_RATIO ) >>> shift;
+
+        hashVal %= state.length;
         if( hashVal < 0 )
-            hashVal += table.length;
+            hashVal += state.length;
 
         return hashVal;
     }
@@ -234,6 +458,17 @@ public class LinearProbingHashTable<K,V> {
         return n;
     }
 
+    /**
+     * Internal method to find a power of two at least as large as n.
+     * @param n the starting number
+     * @return a power of two larger than or equal to n, and at least 2.
+     */
+    private static int nextPowerOfTwo( int n ) {
+        if( n >= MAXIMUM_POWER_OF_TWO )
+            return MAXIMUM_POWER_OF_TWO;
+        return Math.max( 2, Integer.highestOneBit( n - 1 ) << 1 );
+    }
+
     /**
      * Internal method to test if a number is prime.
      * @param n the number to test
@@ -309,6 +544,23 @@ public class LinearProbingHashTable<K,V> {
             System.out.println(x.getMessage());
         }
 
+        System.out.println();
+        System.out.println("Power-of-two table after inserting 6 values:");
+        LinearProbingHashTable<String, Integer> P = new LinearProbingHashTable<>( 8, true );
+        for( int i = 0; i < 6; i++)
+            P.insert(String.format("Key %d", i), i);
+        System.out.println(P);
+
+        System.out.println("Robin Hood table after inserting 12 values and deleting 6:");
+        LinearProbingHashTable<String, Integer> R = new LinearProbingHashTable<>( 16, true, true );
+        for( int i = 0; i < 12; i++)
+            R.insert(String.format("Key %d", i), i);
+        for( int i = 0; i < 12; i += 2)
+            R.delete(String.format("Key %d", i));
+        System.out.println(R);
+        System.out.print("Trying to find value of \"Key 7\": ");
+        System.out.println(R.find("Key 7"));
+
     }
 }
 